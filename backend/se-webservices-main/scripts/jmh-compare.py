@@ -0,0 +1,62 @@
+#!/usr/bin/env python3
+"""Compare two JMH JSON result files (-rf json) and fail on regressions.
+
+    mvn -Pbenchmarks compile exec:exec          # writes target/jmh-result.json
+    scripts/jmh-compare.py benchmarks/0.0.1.json target/jmh-result.json --threshold 10
+
+Benchmarks are matched by name + params. All suites here report average time,
+so a higher score is slower. Exits 1 when any benchmark got slower by more than
+the threshold (percent) and by more than the combined error margins.
+"""
+import argparse
+import json
+import sys
+
+
+def load(path):
+    with open(path) as f:
+        runs = json.load(f)
+    results = {}
+    for run in runs:
+        params = ",".join(f"{k}={v}" for k, v in sorted((run.get("params") or {}).items()))
+        key = run["benchmark"].rsplit(".", 2)[-2] + "." + run["benchmark"].rsplit(".", 1)[-1]
+        if params:
+            key += f" [{params}]"
+        metric = run["primaryMetric"]
+        error = metric.get("scoreError")
+        results[key] = (metric["score"], error if isinstance(error, (int, float)) else 0.0, metric["scoreUnit"])
+    return results
+
+
+def main():
+    parser = argparse.ArgumentParser()
+    parser.add_argument("baseline")
+    parser.add_argument("current")
+    parser.add_argument("--threshold", type=float, default=10.0, help="allowed slowdown in percent")
+    args = parser.parse_args()
+
+    baseline, current = load(args.baseline), load(args.current)
+    regressions = 0
+    for key in sorted(current):
+        score, error, unit = current[key]
+        if key not in baseline:
+            print(f"  new   {key}: {score:.3f} {unit}")
+            continue
+        base_score, base_error, _ = baseline[key]
+        change = (score - base_score) / base_score * 100 if base_score else 0.0
+        slower = change > args.threshold and score - base_score > error + base_error
+        regressions += slower
+        marker = "SLOWER" if slower else "ok"
+        print(f"{marker:>6} {key}: {base_score:.3f} -> {score:.3f} {unit} ({change:+.1f}%)")
+
+    for key in sorted(set(baseline) - set(current)):
+        print(f"  gone  {key}")
+
+    if regressions:
+        print(f"{regressions} benchmark(s) regressed by more than {args.threshold}%")
+        return 1
+    return 0
+
+
+if __name__ == "__main__":
+    sys.exit(main())
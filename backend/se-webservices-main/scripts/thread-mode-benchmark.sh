@@ -0,0 +1,55 @@
+#!/usr/bin/env bash
+# Compares platform and virtual request threads on the same database.
+# Starts the packaged app once per mode, runs ThreadModeBenchmark against it and
+# appends both result sets to one CSV.
+#
+#   BENCH_USER=alice BENCH_PASSWORD=secret BENCH_TASK_ID=42 scripts/thread-mode-benchmark.sh
+#
+# Optional: BENCH_CONCURRENCY (16,64,256,1024), BENCH_SECONDS (30), BENCH_WARMUP (10),
+# BENCH_OUT (target/thread-mode-benchmark.csv), SPRING_ARGS (extra app arguments, e.g. datasource).
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+: "${BENCH_USER:?set BENCH_USER to a ROLE_USER account with assigned tasks}"
+: "${BENCH_PASSWORD:?set BENCH_PASSWORD}"
+: "${BENCH_TASK_ID:?set BENCH_TASK_ID to a task with comments}"
+CONCURRENCY="${BENCH_CONCURRENCY:-16,64,256,1024}"
+SECONDS_PER_RUN="${BENCH_SECONDS:-30}"
+WARMUP="${BENCH_WARMUP:-10}"
+OUT="${BENCH_OUT:-target/thread-mode-benchmark.csv}"
+BASE_URL="https://localhost:8081"
+
+./mvnw -q -DskipTests package
+./mvnw -q -Ploadtest compile
+JAR="$(ls target/webservices-*.jar | grep -v original | head -n 1)"
+rm -f "$OUT"
+
+run_mode() {
+  local label="$1" profiles="$2"
+  echo "== ${label} threads =="
+  java -jar "$JAR" --spring.profiles.active="$profiles" --spring.jpa.show-sql=false \
+       --logging.level.com.zaxxer.hikari=INFO ${SPRING_ARGS:-} > "target/server-${label}.log" 2>&1 &
+  local pid=$!
+  trap 'kill $pid 2>/dev/null || true' EXIT
+
+  for _ in $(seq 1 120); do
+    # any HTTP answer means Tomcat is accepting connections
+    if curl -ks -o /dev/null "$BASE_URL/actuator/health"; then break; fi
+    sleep 1
+  done
+
+  ./mvnw -q -Ploadtest exec:exec -Dloadtest.args="base-url=$BASE_URL username=$BENCH_USER \
+password=$BENCH_PASSWORD task-id=$BENCH_TASK_ID concurrency=$CONCURRENCY \
+seconds=$SECONDS_PER_RUN warmup-seconds=$WARMUP label=$label out=$OUT"
+
+  kill "$pid"
+  wait "$pid" 2>/dev/null || true
+  trap - EXIT
+}
+
+run_mode platform default
+run_mode virtual virtual
+
+echo "Results: $OUT"
+column -s, -t < "$OUT"
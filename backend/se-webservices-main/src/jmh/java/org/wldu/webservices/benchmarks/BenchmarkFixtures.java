@@ -0,0 +1,68 @@
+package org.wldu.webservices.benchmarks;
+
+import org.wldu.webservices.auths.User;
+import org.wldu.webservices.dtoFiles.NotificationResponse;
+import org.wldu.webservices.enities.Category;
+import org.wldu.webservices.enities.Task;
+import org.wldu.webservices.enities.TaskStatus;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// In-memory rows shaped like production data; deterministic so runs are comparable
+final class BenchmarkFixtures {
+
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+    private static final LocalDateTime EPOCH = LocalDateTime.of(2025, 1, 1, 8, 0);
+
+    private BenchmarkFixtures() {
+    }
+
+    static List<Task> tasks(int count) {
+        List<Category> categories = new ArrayList<>();
+        for (long i = 1; i <= 8; i++) {
+            Category category = new Category();
+            category.setId(i);
+            category.setName("category-" + i);
+            categories.add(category);
+        }
+
+        List<Task> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Task task = new Task();
+            task.setId((long) i + 1);
+            task.setTitle("Prepare quarterly report section " + i);
+            task.setDescription("Collect figures, draft the summary and circulate it for review before the deadline. #" + i);
+            task.setStatus(STATUSES[i % STATUSES.length]);
+            task.setDueDate(LocalDate.of(2025, 6, 1).plusDays(i % 90));
+            task.setCategory(categories.get(i % categories.size()));
+            task.setAssignedUser(i % 7 == 0 ? null : user(i % 50 + 1L));
+            task.setVersion(i % 5);
+            task.setCommentCount(i % 12);
+            task.setLastCommentAt(i % 12 == 0 ? null : EPOCH.plusMinutes(i * 37L));
+            task.setLastStatusChangeAt(EPOCH.plusMinutes(i * 11L));
+            tasks.add(task);
+        }
+        return tasks;
+    }
+
+    static List<NotificationResponse> notifications(int count) {
+        List<NotificationResponse> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            rows.add(new NotificationResponse((long) count - i,
+                    "Task 'Prepare quarterly report section " + i + "' status updated to COMPLETED",
+                    i % 3 == 0, EPOCH.plusMinutes(i * 5L)));
+        }
+        return rows;
+    }
+
+    static User user(long id) {
+        User user = new User();
+        user.setId(id);
+        user.setUsername("user-" + id);
+        user.setRole("ROLE_USER");
+        return user;
+    }
+}
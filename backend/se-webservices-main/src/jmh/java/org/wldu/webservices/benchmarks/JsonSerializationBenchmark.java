@@ -0,0 +1,64 @@
+package org.wldu.webservices.benchmarks;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.wldu.webservices.dtoFiles.NotificationResponse;
+import org.wldu.webservices.dtoFiles.TaskResponse;
+import org.wldu.webservices.services.contracts.TaskService;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Response body serialization for list endpoints, with the same ObjectMapper
+ * defaults Spring Boot gives the MVC message converter (java.time as ISO strings).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    @Param({"50", "200"})
+    private int size;
+
+    private ObjectWriter taskWriter;
+    private ObjectWriter notificationWriter;
+    private List<TaskResponse> tasks;
+    private List<NotificationResponse> notifications;
+
+    @Setup
+    public void setUp() {
+        var mapper = Jackson2ObjectMapperBuilder.json().build();
+        taskWriter = mapper.writerFor(new TypeReference<List<TaskResponse>>() {
+        });
+        notificationWriter = mapper.writerFor(new TypeReference<List<NotificationResponse>>() {
+        });
+        tasks = BenchmarkFixtures.tasks(size).stream().map(TaskService::map).toList();
+        notifications = BenchmarkFixtures.notifications(size);
+    }
+
+    @Benchmark
+    public byte[] taskList() throws Exception {
+        return taskWriter.writeValueAsBytes(tasks);
+    }
+
+    @Benchmark
+    public byte[] notificationList() throws Exception {
+        return notificationWriter.writeValueAsBytes(notifications);
+    }
+}
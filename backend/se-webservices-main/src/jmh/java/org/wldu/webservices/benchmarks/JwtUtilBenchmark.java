@@ -0,0 +1,58 @@
+package org.wldu.webservices.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wldu.webservices.auths.JwtKeyRing;
+import org.wldu.webservices.auths.JwtProperties;
+import org.wldu.webservices.auths.JwtUtil;
+import org.wldu.webservices.auths.JwtVerifier;
+import org.wldu.webservices.auths.User;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issue (login) and username extraction through JwtUtil's public API.
+ * Verification internals are compared in {@link JwtVerifierBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtUtilBenchmark {
+
+    private JwtUtil jwtUtil;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        JwtProperties properties = new JwtProperties();
+        properties.setActiveKeyId("k1");
+        properties.getKeys().put("k1", "benchmarkSecretKeyForJWTs1234567890AB");
+
+        JwtKeyRing keyRing = new JwtKeyRing(properties);
+        jwtUtil = new JwtUtil(keyRing, new JwtVerifier(keyRing, properties), properties);
+        user = BenchmarkFixtures.user(42);
+        token = jwtUtil.generateToken(user);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(user);
+    }
+
+    @Benchmark
+    public String extractUsername() {
+        return jwtUtil.extractUsername(token);
+    }
+}
@@ -0,0 +1,82 @@
+package org.wldu.webservices.benchmarks;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wldu.webservices.auths.JwtKeyRing;
+import org.wldu.webservices.auths.JwtProperties;
+import org.wldu.webservices.auths.JwtUtil;
+import org.wldu.webservices.auths.JwtVerifier;
+import org.wldu.webservices.auths.User;
+import org.wldu.webservices.auths.VerifiedToken;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of turning a bearer token into an identity:
+ * cold   - what JwtUtil used to do per call (derive key, build parser, verify)
+ * warm   - shared immutable parser and key, full verification
+ * cached - verified-token cache hit
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtVerifierBenchmark {
+
+    private static final String SECRET = "benchmarkSecretKeyForJWTs1234567890AB";
+
+    private JwtVerifier verifier;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        JwtProperties properties = new JwtProperties();
+        properties.setActiveKeyId("k1");
+        properties.getKeys().put("k1", SECRET);
+
+        JwtKeyRing keyRing = new JwtKeyRing(properties);
+        verifier = new JwtVerifier(keyRing, properties);
+        JwtUtil jwtUtil = new JwtUtil(keyRing, verifier, properties);
+
+        User user = new User();
+        user.setId(42L);
+        user.setUsername("bench-user");
+        user.setRole("ROLE_USER");
+        token = jwtUtil.generateToken(user);
+
+        verifier.verify(token); // prime the cache
+    }
+
+    @Benchmark
+    public Claims coldParse() {
+        return Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+
+    @Benchmark
+    public VerifiedToken warmParse() {
+        return verifier.verifyUncached(token);
+    }
+
+    @Benchmark
+    public VerifiedToken cacheHit() {
+        return verifier.verify(token);
+    }
+}
@@ -0,0 +1,113 @@
+package org.wldu.webservices.benchmarks;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpMethod;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authorization.AuthenticatedAuthorizationManager;
+import org.springframework.security.authorization.AuthorityAuthorizationManager;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.authorization.AuthorizationResult;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.security.web.access.intercept.RequestMatcherDelegatingAuthorizationManager;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Authorization of one request against the rule list from
+ * SecurityConfig.securityFilterChain. Rules are evaluated top to bottom, so
+ * the cost grows with the position of the first match: early (auth), middle
+ * (a task route) and late (comments, fall-through).
+ * <p>
+ * The rules are mirrored here because the HttpSecurity DSL needs a running
+ * application context; keep the order in step with SecurityConfig.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RequestMatcherBenchmark {
+
+    @Param({"POST /api/auth/login", "GET /api/tasks/my-tasks", "GET /api/comments/42", "GET /api/users/me"})
+    private String request;
+
+    private AuthorizationManager<HttpServletRequest> rules;
+    private HttpServletRequest servletRequest;
+    private Supplier<Authentication> authentication;
+
+    @Setup
+    public void setUp() {
+        rules = securityConfigRules();
+
+        String[] parts = request.split(" ", 2);
+        MockHttpServletRequest mock = new MockHttpServletRequest(parts[0], parts[1]);
+        mock.setServletPath(parts[1]);
+        servletRequest = mock;
+
+        Authentication user = UsernamePasswordAuthenticationToken.authenticated(
+                "bench-user", null, List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        authentication = () -> user;
+    }
+
+    @Benchmark
+    public AuthorizationResult authorize() {
+        return rules.authorize(authentication, servletRequest);
+    }
+
+    private static AuthorizationManager<HttpServletRequest> securityConfigRules() {
+        PathPatternRequestMatcher.Builder path = PathPatternRequestMatcher.withDefaults();
+        AuthorizationManager<RequestAuthorizationContext> permitAll = (auth, req) -> new AuthorizationDecision(true);
+        AuthorizationManager<RequestAuthorizationContext> admin = AuthorityAuthorizationManager.hasRole("ADMIN");
+        AuthorizationManager<RequestAuthorizationContext> userOrAdmin =
+                AuthorityAuthorizationManager.hasAnyRole("USER", "ADMIN");
+
+        RequestMatcherDelegatingAuthorizationManager.Builder rules = RequestMatcherDelegatingAuthorizationManager.builder()
+                .add(path.matcher("/swagger-ui/**"), permitAll)
+                .add(path.matcher("/v3/api-docs/**"), permitAll)
+                .add(path.matcher("/swagger-ui.html"), permitAll)
+                .add(path.matcher(HttpMethod.OPTIONS, "/**"), permitAll)
+                .add(path.matcher("/api/auth/**"), permitAll)
+                .add(path.matcher("/api/user/register"), permitAll);
+
+        for (String adminPath : List.of("/api/tasks/create", "/api/tasks/assign", "/api/tasks/get-all",
+                "/api/tasks/unassigned", "/api/tasks/get-all/page", "/api/tasks/unassigned/page",
+                "/api/tasks/export", "/api/tasks/query", "/api/tasks/search", "/api/tasks/search/**",
+                "/api/tasks/bulk/**", "/api/tasks/activity/**", "/api/tasks/stats",
+                "/api/tasks/update/**", "/api/tasks/delete/**")) {
+            rules.add(path.matcher(adminPath), admin);
+        }
+
+        return rules
+                .add(path.matcher("/api/tasks/{taskId}/**"), permitAll)
+                .add(path.matcher("/api/tasks/category/**"), permitAll)
+                .add(path.matcher("/api/tasks/status/**"), permitAll)
+                .add(path.matcher("/api/tasks/my-tasks"), permitAll)
+                .add(path.matcher("/api/categories/create-categories"), admin)
+                .add(path.matcher("/api/categories/list-categories"), permitAll)
+                .add(path.matcher("/api/notifications/**"), userOrAdmin)
+                .add(path.matcher("/api/comments/**"), userOrAdmin)
+                .add(path.matcher("/actuator/health"), permitAll)
+                .add(path.matcher("/actuator/**"), admin)
+                .add(request -> true, AuthenticatedAuthorizationManager.authenticated())
+                .build();
+    }
+}
@@ -0,0 +1,257 @@
+package org.wldu.webservices.loadtest;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Properties;
+import java.util.SplittableRandom;
+
+/**
+ * Appends a synthetic dataset (users, categories, tasks, comments,
+ * notifications) straight through JDBC batches, then moves the id sequences
+ * past it so the application keeps inserting without collisions.
+ * <p>
+ * The schema must already exist: start the application once against the same
+ * database (e.g. the {@code embedded} profile) before seeding, and restart it
+ * afterwards so startup-built state (search index, dashboard counters, admin
+ * directory) includes the new rows. Ids continue from the current maximum, so
+ * seeding twice appends a second dataset.
+ * Everything is derived from {@code seed}, so the same arguments give the same data.
+ * <p>
+ * Arguments (all key=value): url, db-user, db-password, users, tasks,
+ * comments-per-task, notifications-per-user, categories, password, bcrypt-cost,
+ * batch-size, seed, manifest.
+ */
+public final class DataSeeder {
+
+    private static final String[] STATUSES = {"PENDING", "IN_PROGRESS", "COMPLETED"};
+    private static final LocalDateTime BASE_TIME = LocalDateTime.of(2025, 1, 1, 8, 0);
+    private static final int SEQUENCE_ALLOCATION = 50; // allocationSize of the entity sequences
+
+    private final Connection connection;
+    private final int batchSize;
+    private final SplittableRandom random;
+    private final boolean postgres;
+
+    private DataSeeder(Connection connection, int batchSize, long seed) throws SQLException {
+        this.connection = connection;
+        this.batchSize = batchSize;
+        this.random = new SplittableRandom(seed);
+        this.postgres = connection.getMetaData().getDatabaseProductName().toLowerCase().contains("postgres");
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = LoadSupport.options(args);
+        String url = options.getOrDefault("url", "jdbc:h2:file:./data/taskmanager;MODE=PostgreSQL;AUTO_SERVER=TRUE");
+        long users = LoadSupport.longOption(options, "users", 10_000);
+        long tasks = LoadSupport.longOption(options, "tasks", 1_000_000);
+        int commentsPerTask = (int) LoadSupport.longOption(options, "comments-per-task", 3);
+        int notificationsPerUser = (int) LoadSupport.longOption(options, "notifications-per-user", 50);
+        int categories = (int) LoadSupport.longOption(options, "categories", 20);
+        String password = options.getOrDefault("password", "load-test-password");
+        int bcryptCost = (int) LoadSupport.longOption(options, "bcrypt-cost", 10);
+        int batchSize = (int) LoadSupport.longOption(options, "batch-size", 1_000);
+        long seed = LoadSupport.longOption(options, "seed", 42);
+        Path manifest = Path.of(options.getOrDefault("manifest", "target/loadtest-dataset.properties"));
+
+        try (Connection connection = DriverManager.getConnection(url,
+                options.getOrDefault("db-user", "sa"), options.getOrDefault("db-password", ""))) {
+            connection.setAutoCommit(false);
+            DataSeeder seeder = new DataSeeder(connection, batchSize, seed);
+
+            // one hash for every account; hashing millions of passwords would dominate the run
+            String hash = new BCryptPasswordEncoder(bcryptCost).encode(password);
+            long firstUser = seeder.nextId("user12");
+            long firstCategory = seeder.nextId("categories");
+            long firstTask = seeder.nextId("tasks");
+
+            seeder.insertUsers(firstUser, users, hash);
+            seeder.insertCategories(firstCategory, categories);
+            seeder.insertTasks(firstTask, tasks, firstUser + 1, users, firstCategory, categories, commentsPerTask);
+            seeder.insertComments(firstTask, tasks, commentsPerTask, firstUser + 1, users);
+            seeder.insertNotifications(firstUser + 1, users, notificationsPerUser);
+            seeder.alignIds();
+
+            Properties dataset = new Properties();
+            dataset.setProperty("admin-username", "load-admin-" + firstUser);
+            dataset.setProperty("user-prefix", "load-user-");
+            dataset.setProperty("first-user-id", Long.toString(firstUser + 1));
+            dataset.setProperty("users", Long.toString(users));
+            dataset.setProperty("first-task-id", Long.toString(firstTask));
+            dataset.setProperty("tasks", Long.toString(tasks));
+            dataset.setProperty("password", password);
+            writeManifest(manifest, dataset);
+            System.out.println("Dataset manifest written to " + manifest.toAbsolutePath());
+        }
+    }
+
+    // ================= TABLES =================
+
+    // first id is the admin, users follow as load-user-<id>
+    private void insertUsers(long firstId, long users, String hash) throws SQLException {
+        batch("user12", "insert into user12 (id, username, password, role, active, token_version) "
+                + "values (?, ?, ?, ?, true, 0)", users + 1, (ps, i) -> {
+            long id = firstId + i;
+            ps.setLong(1, id);
+            ps.setString(2, i == 0 ? "load-admin-" + id : "load-user-" + id);
+            ps.setString(3, hash);
+            ps.setString(4, i == 0 ? "ROLE_ADMIN" : "ROLE_USER");
+        });
+    }
+
+    private void insertCategories(long firstId, int categories) throws SQLException {
+        batch("categories", "insert into categories (id, name, description) values (?, ?, ?)", categories, (ps, i) -> {
+            ps.setLong(1, firstId + i);
+            ps.setString(2, "load-category-" + (firstId + i));
+            ps.setString(3, "Synthetic category " + i);
+        });
+    }
+
+    // comment_count / last_comment_at match what insertComments writes for the same task
+    private void insertTasks(long firstId, long tasks, long firstUser, long users,
+                             long firstCategory, int categories, int commentsPerTask) throws SQLException {
+        LocalDate today = LocalDate.now();
+        batch("tasks", "insert into tasks (id, title, description, status, due_date, assigned_user_id, category_id, "
+                + "version, comment_count, last_comment_at, due_notice_stage) values (?, ?, ?, ?, ?, ?, ?, 0, ?, ?, 0)",
+                tasks, (ps, i) -> {
+                    long id = firstId + i;
+                    ps.setLong(1, id);
+                    ps.setString(2, "Load task " + id + " " + WORDS[random.nextInt(WORDS.length)]);
+                    ps.setString(3, "Synthetic task " + id + ": " + WORDS[random.nextInt(WORDS.length)]
+                            + " " + WORDS[random.nextInt(WORDS.length)]);
+                    ps.setString(4, STATUSES[random.nextInt(STATUSES.length)]);
+                    ps.setObject(5, today.plusDays(random.nextInt(-30, 60)));
+                    if (random.nextInt(10) == 0) {
+                        ps.setNull(6, Types.BIGINT); // ~10% unassigned
+                    } else {
+                        ps.setLong(6, firstUser + random.nextLong(users));
+                    }
+                    ps.setLong(7, firstCategory + random.nextInt(categories));
+                    ps.setInt(8, commentsPerTask);
+                    if (commentsPerTask == 0) {
+                        ps.setNull(9, Types.TIMESTAMP);
+                    } else {
+                        ps.setTimestamp(9, Timestamp.valueOf(taskTime(i).plusHours(commentsPerTask)));
+                    }
+                });
+    }
+
+    private void insertComments(long firstTask, long tasks, int perTask, long firstUser, long users)
+            throws SQLException {
+        long firstId = nextId("comments");
+        batch("comments", "insert into comments (id, content, created_at, task_id, user_id) values (?, ?, ?, ?, ?)",
+                tasks * perTask, (ps, i) -> {
+                    long task = i / perTask;
+                    ps.setLong(1, firstId + i);
+                    ps.setString(2, "Synthetic comment " + (i % perTask + 1) + " on task " + (firstTask + task));
+                    ps.setTimestamp(3, Timestamp.valueOf(taskTime(task).plusHours(i % perTask + 1)));
+                    ps.setLong(4, firstTask + task);
+                    ps.setLong(5, firstUser + random.nextLong(users));
+                });
+    }
+
+    // older half of each inbox is already seen
+    private void insertNotifications(long firstUser, long users, int perUser) throws SQLException {
+        long firstId = nextId("notifications");
+        batch("notifications", "insert into notifications (id, message, seen, created_at, user_id) values (?, ?, ?, ?, ?)",
+                users * perUser, (ps, i) -> {
+                    long k = i % perUser;
+                    ps.setLong(1, firstId + i);
+                    ps.setString(2, "Synthetic notification " + (k + 1));
+                    ps.setBoolean(3, k < perUser / 2);
+                    ps.setTimestamp(4, Timestamp.valueOf(BASE_TIME.plusMinutes(i)));
+                    ps.setLong(5, firstUser + i / perUser);
+                });
+    }
+
+    private static LocalDateTime taskTime(long index) {
+        return BASE_TIME.plusMinutes(index % 525_600);
+    }
+
+    // ================= JDBC =================
+
+    @FunctionalInterface
+    private interface RowBinder {
+        void bind(PreparedStatement ps, long index) throws SQLException;
+    }
+
+    // one executeBatch + commit per batchSize rows keeps memory and undo flat however big the run
+    private void batch(String table, String sql, long rows, RowBinder binder) throws SQLException {
+        long started = System.nanoTime();
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            for (long i = 0; i < rows; i++) {
+                binder.bind(ps, i);
+                ps.addBatch();
+                if ((i + 1) % batchSize == 0 || i == rows - 1) {
+                    ps.executeBatch();
+                    connection.commit();
+                }
+                if ((i + 1) % 500_000 == 0) {
+                    System.out.printf("  %s: %,d / %,d%n", table, i + 1, rows);
+                }
+            }
+        }
+        double seconds = Math.max((System.nanoTime() - started) / 1e9, 0.001);
+        System.out.printf("%s: %,d rows in %.1f s (%,.0f rows/s)%n", table, rows, seconds, rows / seconds);
+    }
+
+    private long nextId(String table) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             var rs = statement.executeQuery("select coalesce(max(id), 0) + 1 from " + table)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    // explicit ids bypassed the sequences and identity columns; move them past what was written
+    private void alignIds() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            for (String table : new String[]{"tasks", "comments", "notifications"}) {
+                long maxId = nextId(table) - 1;
+                String sequence = table + "_seq";
+                if (postgres) {
+                    statement.execute("select setval('" + sequence + "', " + Math.max(maxId, 1) + ")");
+                } else {
+                    // pooled optimizer: the next value V hands out V - 49 .. V
+                    statement.execute("alter sequence " + sequence + " restart with " + (maxId + SEQUENCE_ALLOCATION));
+                }
+            }
+            for (String table : new String[]{"user12", "categories"}) {
+                long next = nextId(table);
+                if (postgres) {
+                    statement.execute("select setval(pg_get_serial_sequence('" + table + "', 'id'), " + (next - 1) + ")");
+                } else {
+                    statement.execute("alter table " + table + " alter column id restart with " + next);
+                }
+            }
+        }
+        connection.commit();
+    }
+
+    private static void writeManifest(Path path, Properties dataset) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        try (OutputStream out = Files.newOutputStream(path)) {
+            dataset.store(out, "Written by DataSeeder, read by LoadGenerator manifest=...");
+        }
+    }
+
+    private static final String[] WORDS = {
+            "report", "review", "deploy", "invoice", "audit", "migration", "onboarding", "budget",
+            "roadmap", "backup", "release", "survey", "training", "contract", "inventory", "design"
+    };
+}
@@ -0,0 +1,290 @@
+package org.wldu.webservices.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Mixed REST workload against a running server, one virtual thread per client.
+ * Logs in a pool of seeded users (and the seeded admin for assignments), then
+ * every client repeatedly picks a user and an operation by weight until the
+ * time is up. Prints throughput and latency percentiles per operation and
+ * appends them to a CSV.
+ * <p>
+ * Arguments (all key=value): base-url, manifest (from DataSeeder, supplies the
+ * dataset options), sessions, clients, seconds, warmup-seconds, think-ms,
+ * mix (e.g. my-tasks=40,comments=20,...), label, out, seed.
+ * 409s from status changes (illegal transitions, lost races) are counted as
+ * conflicts, not errors.
+ */
+public final class LoadGenerator {
+
+    private static final String CSV_HEADER =
+            "label,operation,requests,throughput_rps,conflicts,errors,p50_ms,p95_ms,p99_ms,max_ms";
+    private static final String DEFAULT_MIX = "my-tasks=40,comments=20,notifications=15,status=10,comment=10,assign=5";
+    private static final String[] STATUSES = {"PENDING", "IN_PROGRESS", "COMPLETED"};
+
+    enum Operation {
+        MY_TASKS("my-tasks"), COMMENTS("comments"), NOTIFICATIONS("notifications"),
+        STATUS("status"), COMMENT("comment"), ASSIGN("assign");
+
+        final String key;
+
+        Operation(String key) {
+            this.key = key;
+        }
+    }
+
+    private final HttpClient client;
+    private final String baseUrl;
+    private final List<String> userTokens;
+    private final String adminToken;
+    private final long firstUserId;
+    private final long users;
+    private final long firstTaskId;
+    private final long tasks;
+    private final Operation[] weightedOps;
+    private final long thinkMillis;
+
+    private LoadGenerator(HttpClient client, String baseUrl, List<String> userTokens, String adminToken,
+                          Map<String, String> options) {
+        this.client = client;
+        this.baseUrl = baseUrl;
+        this.userTokens = userTokens;
+        this.adminToken = adminToken;
+        this.firstUserId = Long.parseLong(LoadSupport.required(options, "first-user-id"));
+        this.users = Long.parseLong(LoadSupport.required(options, "users"));
+        this.firstTaskId = Long.parseLong(LoadSupport.required(options, "first-task-id"));
+        this.tasks = Long.parseLong(LoadSupport.required(options, "tasks"));
+        this.weightedOps = weights(options.getOrDefault("mix", DEFAULT_MIX));
+        this.thinkMillis = LoadSupport.longOption(options, "think-ms", 0);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = LoadSupport.withManifest(LoadSupport.options(args));
+        String baseUrl = options.getOrDefault("base-url", "https://localhost:8081");
+        int sessions = (int) LoadSupport.longOption(options, "sessions", 200);
+        int clients = (int) LoadSupport.longOption(options, "clients", 256);
+        Duration warmup = Duration.ofSeconds(LoadSupport.longOption(options, "warmup-seconds", 10));
+        Duration measure = Duration.ofSeconds(LoadSupport.longOption(options, "seconds", 60));
+        long seed = LoadSupport.longOption(options, "seed", 42);
+        String label = options.getOrDefault("label", "run");
+        Path out = Path.of(options.getOrDefault("out", "target/load-generator.csv"));
+
+        HttpClient client = LoadSupport.insecureClient();
+        String password = LoadSupport.required(options, "password");
+        String adminToken = LoadSupport.login(client, baseUrl, LoadSupport.required(options, "admin-username"), password);
+        List<String> userTokens = loginUsers(client, baseUrl, options, sessions, password);
+        System.out.printf("Logged in %d users, running %d clients for %d s%n",
+                userTokens.size(), clients, measure.toSeconds());
+
+        LoadGenerator generator = new LoadGenerator(client, baseUrl, userTokens, adminToken, options);
+        generator.run(clients, warmup, seed - 1);
+        Map<Operation, Stats> results = generator.run(clients, measure, seed);
+
+        List<String> rows = new ArrayList<>();
+        System.out.printf("%-14s %10s %10s %9s %7s %9s %9s %9s %9s%n",
+                "operation", "requests", "req/s", "conflicts", "errors", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        Stats total = new Stats();
+        for (Map.Entry<Operation, Stats> e : results.entrySet()) {
+            rows.add(e.getValue().report(label, e.getKey().key, measure));
+            total.merge(e.getValue());
+        }
+        rows.add(total.report(label, "total", measure));
+        LoadSupport.appendCsv(out, CSV_HEADER, rows);
+        System.out.println("Results appended to " + out.toAbsolutePath());
+    }
+
+    private static List<String> loginUsers(HttpClient client, String baseUrl, Map<String, String> options,
+                                           int sessions, String password) throws Exception {
+        String prefix = options.getOrDefault("user-prefix", "load-user-");
+        long firstUser = Long.parseLong(LoadSupport.required(options, "first-user-id"));
+        long users = Long.parseLong(LoadSupport.required(options, "users"));
+        int count = (int) Math.min(sessions, users);
+
+        List<Future<String>> logins = new ArrayList<>(count);
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < count; i++) {
+                // spread over the whole user range so tasks, comments and inboxes differ per session
+                String username = prefix + (firstUser + i * (users / count));
+                logins.add(executor.submit(() -> LoadSupport.login(client, baseUrl, username, password)));
+            }
+        }
+        List<String> tokens = new ArrayList<>(count);
+        for (Future<String> login : logins) {
+            tokens.add(login.get());
+        }
+        return tokens;
+    }
+
+    // ================= RUN =================
+
+    private Map<Operation, Stats> run(int clients, Duration duration, long seed)
+            throws InterruptedException, ExecutionException {
+        long deadline = System.nanoTime() + duration.toNanos();
+        SplittableRandom root = new SplittableRandom(seed);
+        List<Future<Map<Operation, Stats>>> futures = new ArrayList<>(clients);
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients; i++) {
+                SplittableRandom random = root.split();
+                futures.add(executor.submit(() -> drive(random, deadline)));
+            }
+        }
+
+        Map<Operation, Stats> merged = new EnumMap<>(Operation.class);
+        for (Future<Map<Operation, Stats>> future : futures) {
+            future.get().forEach((op, stats) -> merged.computeIfAbsent(op, k -> new Stats()).merge(stats));
+        }
+        return merged;
+    }
+
+    private Map<Operation, Stats> drive(SplittableRandom random, long deadline) {
+        Map<Operation, Stats> stats = new EnumMap<>(Operation.class);
+        while (System.nanoTime() < deadline) {
+            Operation op = weightedOps[random.nextInt(weightedOps.length)];
+            HttpRequest request = request(op, random);
+            Stats opStats = stats.computeIfAbsent(op, k -> new Stats());
+
+            long started = System.nanoTime();
+            try {
+                int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                opStats.record(status, System.nanoTime() - started);
+            } catch (IOException e) {
+                opStats.errors++;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            if (thinkMillis > 0 && !think()) {
+                break;
+            }
+        }
+        return stats;
+    }
+
+    private HttpRequest request(Operation op, SplittableRandom random) {
+        String token = op == Operation.ASSIGN ? adminToken : userTokens.get(random.nextInt(userTokens.size()));
+        long taskId = firstTaskId + random.nextLong(tasks);
+
+        HttpRequest.Builder builder = switch (op) {
+            case MY_TASKS -> get("/api/tasks/my-tasks");
+            case COMMENTS -> get("/api/comments/" + taskId);
+            case NOTIFICATIONS -> get("/api/notifications/inbox");
+            case STATUS -> HttpRequest.newBuilder(uri("/api/tasks/status/" + taskId
+                    + "?status=" + STATUSES[random.nextInt(STATUSES.length)]))
+                    .PUT(HttpRequest.BodyPublishers.noBody());
+            case COMMENT -> json(uri("/api/comments/" + taskId), "POST",
+                    "{\"content\":\"load test comment " + random.nextInt(1_000_000) + "\"}");
+            case ASSIGN -> json(uri("/api/tasks/assign"), "PUT",
+                    "{\"taskId\":" + taskId + ",\"userId\":" + (firstUserId + random.nextLong(users)) + "}");
+        };
+        return builder.header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(30))
+                .build();
+    }
+
+    private HttpRequest.Builder get(String path) {
+        return HttpRequest.newBuilder(uri(path)).GET();
+    }
+
+    private static HttpRequest.Builder json(URI uri, String method, String body) {
+        return HttpRequest.newBuilder(uri)
+                .header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(body));
+    }
+
+    private URI uri(String path) {
+        return URI.create(baseUrl + path);
+    }
+
+    private boolean think() {
+        try {
+            Thread.sleep(thinkMillis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static Operation[] weights(String mix) {
+        List<Operation> slots = new ArrayList<>();
+        for (String part : mix.split(",")) {
+            String[] kv = part.trim().split("=");
+            Operation op = null;
+            for (Operation candidate : Operation.values()) {
+                if (candidate.key.equals(kv[0])) {
+                    op = candidate;
+                }
+            }
+            if (op == null || kv.length != 2) {
+                throw new IllegalArgumentException("Unknown mix entry " + part);
+            }
+            for (int i = 0; i < Integer.parseInt(kv[1]); i++) {
+                slots.add(op);
+            }
+        }
+        if (slots.isEmpty()) {
+            throw new IllegalArgumentException("Empty mix");
+        }
+        return slots.toArray(Operation[]::new);
+    }
+
+    // ================= RESULTS =================
+
+    // per client and operation while running, merged afterwards
+    private static final class Stats {
+        private final List<long[]> parts = new ArrayList<>();
+        private final LoadSupport.Latencies latencies = new LoadSupport.Latencies();
+        private long conflicts;
+        private long errors;
+
+        void record(int status, long nanos) {
+            if (status == 409) {
+                conflicts++;
+            } else if (status >= 400) {
+                errors++;
+            } else {
+                latencies.add(nanos);
+            }
+        }
+
+        void merge(Stats other) {
+            parts.add(other.latencies.toArray());
+            parts.addAll(other.parts);
+            conflicts += other.conflicts;
+            errors += other.errors;
+        }
+
+        String report(String label, String operation, Duration duration) {
+            List<long[]> all = new ArrayList<>(parts);
+            all.add(latencies.toArray());
+            long[] sorted = LoadSupport.sorted(all);
+            double rps = sorted.length / (double) duration.toSeconds();
+            double max = sorted.length == 0 ? Double.NaN : sorted[sorted.length - 1] / 1_000_000.0;
+
+            System.out.printf(Locale.ROOT, "%-14s %,10d %10.1f %9d %7d %9.2f %9.2f %9.2f %9.2f%n",
+                    operation, sorted.length, rps, conflicts, errors,
+                    LoadSupport.percentile(sorted, 0.50), LoadSupport.percentile(sorted, 0.95),
+                    LoadSupport.percentile(sorted, 0.99), max);
+            return String.format(Locale.ROOT, "%s,%s,%d,%.1f,%d,%d,%.2f,%.2f,%.2f,%.2f",
+                    label, operation, sorted.length, rps, conflicts, errors,
+                    LoadSupport.percentile(sorted, 0.50), LoadSupport.percentile(sorted, 0.95),
+                    LoadSupport.percentile(sorted, 0.99), max);
+        }
+    }
+}
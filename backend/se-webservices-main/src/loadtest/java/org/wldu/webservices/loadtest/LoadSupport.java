@@ -0,0 +1,170 @@
+package org.wldu.webservices.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.X509TrustManager;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintWriter;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.GeneralSecurityException;
+import java.security.cert.X509Certificate;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.Executors;
+
+// Pieces shared by the load drivers: key=value options, HTTP client, login, latency recording
+final class LoadSupport {
+
+    static final ObjectMapper JSON = new ObjectMapper();
+
+    private LoadSupport() {
+    }
+
+    // ================= OPTIONS =================
+
+    static Map<String, String> options(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq <= 0) {
+                throw new IllegalArgumentException("Expected key=value, got " + arg);
+            }
+            options.put(arg.substring(0, eq), arg.substring(eq + 1));
+        }
+        return options;
+    }
+
+    static String required(Map<String, String> options, String key) {
+        String value = options.get(key);
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("Missing " + key + "=...");
+        }
+        return value;
+    }
+
+    static long longOption(Map<String, String> options, String key, long defaultValue) {
+        String value = options.get(key);
+        return value == null ? defaultValue : Long.parseLong(value.replace("_", ""));
+    }
+
+    // the manifest DataSeeder writes; explicit options win over it
+    static Map<String, String> withManifest(Map<String, String> options) throws IOException {
+        String manifest = options.get("manifest");
+        if (manifest == null) {
+            return options;
+        }
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(Path.of(manifest))) {
+            properties.load(in);
+        }
+        Map<String, String> merged = new HashMap<>();
+        properties.stringPropertyNames().forEach(name -> merged.put(name, properties.getProperty(name)));
+        merged.putAll(options);
+        return merged;
+    }
+
+    // ================= HTTP =================
+
+    // the dev server uses a self-signed certificate (myapp.p12)
+    static HttpClient insecureClient() throws GeneralSecurityException {
+        TrustManager[] trustAll = {new X509TrustManager() {
+            @Override
+            public void checkClientTrusted(X509Certificate[] chain, String authType) {
+            }
+
+            @Override
+            public void checkServerTrusted(X509Certificate[] chain, String authType) {
+            }
+
+            @Override
+            public X509Certificate[] getAcceptedIssuers() {
+                return new X509Certificate[0];
+            }
+        }};
+        SSLContext ssl = SSLContext.getInstance("TLS");
+        ssl.init(null, trustAll, null);
+        System.setProperty("jdk.internal.httpclient.disableHostnameVerification", "true");
+
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .sslContext(ssl)
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    static String login(HttpClient client, String baseUrl, String username, String password)
+            throws IOException, InterruptedException {
+        String body = JSON.writeValueAsString(Map.of("username", username, "password", password));
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Login as " + username + " failed with HTTP "
+                    + response.statusCode() + ": " + response.body());
+        }
+        return JSON.readTree(response.body()).get("token").asText();
+    }
+
+    // ================= RESULTS =================
+
+    // one per client, so recording never contends
+    static final class Latencies {
+        private long[] values = new long[1024];
+        private int size;
+
+        void add(long nanos) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = nanos;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+
+    static long[] sorted(List<long[]> parts) {
+        long[] all = parts.stream().flatMapToLong(Arrays::stream).toArray();
+        Arrays.sort(all);
+        return all;
+    }
+
+    // in milliseconds, NaN when nothing was recorded
+    static double percentile(long[] sortedNanos, double p) {
+        if (sortedNanos.length == 0) {
+            return Double.NaN;
+        }
+        int index = (int) Math.ceil(p * sortedNanos.length) - 1;
+        return sortedNanos[Math.max(index, 0)] / 1_000_000.0;
+    }
+
+    static void appendCsv(Path out, String header, List<String> rows) throws IOException {
+        if (out.getParent() != null) {
+            Files.createDirectories(out.getParent());
+        }
+        boolean fresh = Files.notExists(out);
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(out,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND))) {
+            if (fresh) {
+                writer.println(header);
+            }
+            rows.forEach(writer::println);
+        }
+    }
+}
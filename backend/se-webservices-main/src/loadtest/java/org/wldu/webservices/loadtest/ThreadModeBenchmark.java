@@ -0,0 +1,137 @@
+package org.wldu.webservices.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop throughput run against one already started server: for each
+ * endpoint and concurrency level, N clients issue back-to-back GETs for a fixed
+ * time and the throughput and latency percentiles are appended to a CSV.
+ * scripts/thread-mode-benchmark.sh starts the server once per thread mode and
+ * runs this against each, so the rows for "platform" and "virtual" line up.
+ * <p>
+ * Arguments (all key=value): base-url, username, password, task-id,
+ * concurrency (comma separated), warmup-seconds, seconds, label, out.
+ */
+public final class ThreadModeBenchmark {
+
+    private static final String CSV_HEADER = "mode,endpoint,concurrency,requests,errors,throughput_rps,p50_ms,p95_ms,p99_ms";
+
+    private final HttpClient client;
+    private final String baseUrl;
+    private final String token;
+
+    private ThreadModeBenchmark(HttpClient client, String baseUrl, String token) {
+        this.client = client;
+        this.baseUrl = baseUrl;
+        this.token = token;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = LoadSupport.options(args);
+        String baseUrl = options.getOrDefault("base-url", "https://localhost:8081");
+        String label = options.getOrDefault("label", "unknown");
+        int[] levels = Arrays.stream(options.getOrDefault("concurrency", "16,64,256,1024").split(","))
+                .map(String::trim).mapToInt(Integer::parseInt).toArray();
+        Duration warmup = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup-seconds", "10")));
+        Duration measure = Duration.ofSeconds(Long.parseLong(options.getOrDefault("seconds", "30")));
+        Path out = Path.of(options.getOrDefault("out", "target/thread-mode-benchmark.csv"));
+
+        HttpClient client = LoadSupport.insecureClient();
+        String token = LoadSupport.login(client, baseUrl,
+                LoadSupport.required(options, "username"), LoadSupport.required(options, "password"));
+        ThreadModeBenchmark benchmark = new ThreadModeBenchmark(client, baseUrl, token);
+
+        List<String> endpoints = List.of("/api/tasks/my-tasks", "/api/comments/" + LoadSupport.required(options, "task-id"));
+        List<String> rows = new ArrayList<>();
+        for (String endpoint : endpoints) {
+            for (int concurrency : levels) {
+                benchmark.run(endpoint, concurrency, warmup);
+                Result result = benchmark.run(endpoint, concurrency, measure);
+                String row = result.csv(label, endpoint, concurrency, measure);
+                System.out.println(row);
+                rows.add(row);
+            }
+        }
+        LoadSupport.appendCsv(out, CSV_HEADER, rows);
+        System.out.println("Results appended to " + out.toAbsolutePath());
+    }
+
+    private Result run(String endpoint, int concurrency, Duration duration)
+            throws InterruptedException, ExecutionException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + endpoint))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+        long deadline = System.nanoTime() + duration.toNanos();
+        AtomicLong errors = new AtomicLong();
+        List<Future<long[]>> clients = new ArrayList<>(concurrency);
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                clients.add(executor.submit(() -> drive(request, deadline, errors)));
+            }
+        }
+
+        List<long[]> perClient = new ArrayList<>(concurrency);
+        for (Future<long[]> latencies : clients) {
+            perClient.add(latencies.get());
+        }
+        return Result.of(perClient, errors.get());
+    }
+
+    // one client: back-to-back requests until the deadline, latencies of successful ones
+    private long[] drive(HttpRequest request, long deadline, AtomicLong errors) {
+        LoadSupport.Latencies latencies = new LoadSupport.Latencies();
+        while (System.nanoTime() < deadline) {
+            long started = System.nanoTime();
+            try {
+                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() == 200) {
+                    latencies.add(System.nanoTime() - started);
+                } else {
+                    errors.incrementAndGet();
+                }
+            } catch (IOException e) {
+                errors.incrementAndGet();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        return latencies.toArray();
+    }
+
+    // ================= RESULTS =================
+
+    private record Result(long[] sortedNanos, long errors) {
+
+        static Result of(List<long[]> perClient, long errors) {
+            return new Result(LoadSupport.sorted(perClient), errors);
+        }
+
+        String csv(String label, String endpoint, int concurrency, Duration duration) {
+            double rps = sortedNanos.length / (double) duration.toSeconds();
+            return String.format(Locale.ROOT, "%s,%s,%d,%d,%d,%.1f,%.2f,%.2f,%.2f",
+                    label, endpoint, concurrency, sortedNanos.length, errors, rps,
+                    LoadSupport.percentile(sortedNanos, 0.50),
+                    LoadSupport.percentile(sortedNanos, 0.95),
+                    LoadSupport.percentile(sortedNanos, 0.99));
+        }
+    }
+}
@@ -0,0 +1,4 @@
+package org.wldu.webservices.auths;
+
+public record AccountState(Long userId, int tokenVersion, boolean active) {
+}
@@ -0,0 +1,63 @@
+package org.wldu.webservices.auths;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory revocation table for stateless tokens. Every token carries the
+ * account's token version; a token is accepted only while that version is
+ * still current and the account is active. Only accounts that ever changed
+ * are tracked, everyone else is implicitly at version 0 and active.
+ * <p>
+ * Seeded from the database once at startup and updated by {@link UserService}
+ * after its changes commit.
+ */
+@Component
+public class AccountVersions {
+
+    private final UserRepository userRepository;
+    private final ConcurrentHashMap<Long, Integer> versions = new ConcurrentHashMap<>();
+    private final Set<Long> revoked = ConcurrentHashMap.newKeySet();
+
+    public AccountVersions(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    @PostConstruct
+    void load() {
+        for (AccountState state : userRepository.findChangedAccountStates()) {
+            apply(state.userId(), state.tokenVersion(), state.active());
+        }
+    }
+
+    public boolean isCurrent(Long userId, int tokenVersion) {
+        if (userId == null || revoked.contains(userId)) {
+            return false;
+        }
+        return versions.getOrDefault(userId, 0) == tokenVersion;
+    }
+
+    public void update(User user) {
+        apply(user.getId(), user.getTokenVersion(), user.isActive());
+    }
+
+    public void revoke(Long userId) {
+        revoked.add(userId);
+    }
+
+    private void apply(Long userId, int tokenVersion, boolean active) {
+        if (tokenVersion == 0) {
+            versions.remove(userId);
+        } else {
+            versions.put(userId, tokenVersion);
+        }
+        if (active) {
+            revoked.remove(userId);
+        } else {
+            revoked.add(userId);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package org.wldu.webservices.auths;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Ids of active {@code ROLE_ADMIN} accounts, used to fan out admin
+ * notifications without a query per status change. Loaded once at startup and
+ * kept in step by {@link UserService} after role, activation and delete changes
+ * commit.
+ */
+@Component
+public class AdminDirectory {
+
+    static final String ADMIN_ROLE = "ROLE_ADMIN";
+
+    private final UserRepository userRepository;
+    private final Set<Long> adminIds = ConcurrentHashMap.newKeySet();
+
+    public AdminDirectory(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    @PostConstruct
+    void load() {
+        adminIds.addAll(userRepository.findActiveIdsByRole(ADMIN_ROLE));
+    }
+
+    public List<Long> adminIds() {
+        return List.copyOf(adminIds);
+    }
+
+    public void update(User user) {
+        if (ADMIN_ROLE.equals(user.getRole()) && user.isActive()) {
+            adminIds.add(user.getId());
+        } else {
+            adminIds.remove(user.getId());
+        }
+    }
+
+    public void remove(Long userId) {
+        adminIds.remove(userId);
+    }
+}
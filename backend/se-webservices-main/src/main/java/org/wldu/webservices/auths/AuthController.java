@@ -33,12 +33,12 @@ public class AuthController {
                 new UsernamePasswordAuthenticationToken(
                         request.getUsername(), request.getPassword()));
 
-        // 2. Generate the JWT token
-        String token = jwtUtil.generateToken(request.getUsername());
-
-        // 3. FETCH THE FULL USER OBJECT
+        // 2. FETCH THE FULL USER OBJECT
         User user = userRepository.findByUsername(request.getUsername())
                 .orElseThrow(() -> new RuntimeException("User not found in database after authentication"));
+
+        // 3. Generate the JWT token (carries id, role and token version)
+        String token = jwtUtil.generateToken(user);
         return ResponseEntity.ok(new AuthResponse(token, user));
     }
 }
\ No newline at end of file
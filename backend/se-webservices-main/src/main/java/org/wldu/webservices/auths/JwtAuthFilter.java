@@ -6,22 +6,24 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import java.util.List;
+
 @Component
 public class JwtAuthFilter extends OncePerRequestFilter {
 
-    private final JwtUtil jwtUtil;
-    private final CustomUserDetailsService userDetailsService;
+    private final JwtVerifier jwtVerifier;
+    private final AccountVersions accountVersions;
 
-    public JwtAuthFilter(JwtUtil jwtUtil,
-                         CustomUserDetailsService userDetailsService) {
-        this.jwtUtil = jwtUtil;
-        this.userDetailsService = userDetailsService;
+    public JwtAuthFilter(JwtVerifier jwtVerifier,
+                         AccountVersions accountVersions) {
+        this.jwtVerifier = jwtVerifier;
+        this.accountVersions = accountVersions;
     }
 
     @Override
@@ -32,29 +34,30 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
         String authHeader = request.getHeader("Authorization");
 
-        if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            String jwt = authHeader.substring(7);
-            String username = jwtUtil.extractUsername(jwt);
+        if (authHeader != null && authHeader.startsWith("Bearer ")
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            authenticate(authHeader.substring(7), request);
+        }
+        filterChain.doFilter(request, response);
+    }
 
-            if (username != null &&
-                    SecurityContextHolder.getContext().getAuthentication() == null) {
+    // at most one parse (none on a cache hit), no user lookup: identity and role come
+    // from the claims, revocation from the in-memory account version table
+    private void authenticate(String jwt, HttpServletRequest request) {
+        VerifiedToken token = jwtVerifier.verify(jwt);
+        if (token == null || !accountVersions.isCurrent(token.principal().userId(), token.version())) {
+            return; // invalid, expired or revoked: continue unauthenticated
+        }
 
-                UserDetails userDetails =
-                        userDetailsService.loadUserByUsername(username);
+        JwtPrincipal principal = token.principal();
 
-                if (jwtUtil.isTokenValid(jwt, userDetails)) {
-                    UsernamePasswordAuthenticationToken authToken =
-                            new UsernamePasswordAuthenticationToken(
-                                    userDetails, null, userDetails.getAuthorities());
+        UsernamePasswordAuthenticationToken authToken =
+                new UsernamePasswordAuthenticationToken(
+                        principal, null, List.of(new SimpleGrantedAuthority(principal.role())));
 
-                    authToken.setDetails(
-                            new WebAuthenticationDetailsSource().buildDetails(request));
+        authToken.setDetails(
+                new WebAuthenticationDetailsSource().buildDetails(request));
 
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
-                }
-            }
-        }
-        filterChain.doFilter(request, response);
+        SecurityContextHolder.getContext().setAuthentication(authToken);
     }
 }
-
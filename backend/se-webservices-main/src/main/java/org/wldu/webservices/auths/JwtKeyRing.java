@@ -0,0 +1,47 @@
+package org.wldu.webservices.auths;
+
+import io.jsonwebtoken.security.Keys;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+// HMAC keys by key id, derived once at startup and immutable afterwards
+@Component
+public class JwtKeyRing {
+
+    private final String activeKeyId;
+    private final Map<String, SecretKey> keys;
+
+    public JwtKeyRing(JwtProperties properties) {
+        if (properties.getKeys().isEmpty()) {
+            throw new IllegalStateException("At least one jwt.keys.<kid> secret must be configured");
+        }
+        Map<String, SecretKey> derived = new HashMap<>();
+        properties.getKeys().forEach((kid, secret) ->
+                derived.put(kid, Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8))));
+
+        this.keys = Map.copyOf(derived);
+        this.activeKeyId = properties.getActiveKeyId() != null
+                ? properties.getActiveKeyId()
+                : properties.getKeys().keySet().iterator().next();
+        if (!keys.containsKey(activeKeyId)) {
+            throw new IllegalStateException("jwt.active-key-id '" + activeKeyId + "' has no configured key");
+        }
+    }
+
+    public String activeKeyId() {
+        return activeKeyId;
+    }
+
+    public SecretKey activeKey() {
+        return keys.get(activeKeyId);
+    }
+
+    // tokens without a kid header were signed before rotation support, they use the active key
+    public SecretKey resolve(String keyId) {
+        return keyId == null ? activeKey() : keys.get(keyId);
+    }
+}
@@ -0,0 +1,12 @@
+package org.wldu.webservices.auths;
+
+import java.security.Principal;
+
+// Authenticated identity rebuilt from token claims, no database lookup involved
+public record JwtPrincipal(Long userId, String username, String role) implements Principal {
+
+    @Override
+    public String getName() {
+        return username;
+    }
+}
@@ -0,0 +1,23 @@
+package org.wldu.webservices.auths;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * jwt.keys.&lt;kid&gt; holds one HMAC secret per key id. New tokens are signed with
+ * jwt.active-key-id; older keys stay listed until their tokens have expired.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "jwt")
+public class JwtProperties {
+
+    private String activeKeyId;
+    private Map<String, String> keys = new LinkedHashMap<>();
+    private long expirationMs = 1000 * 60 * 60; // 1 hour
+    private int verifiedCacheSize = 10_000;
+}
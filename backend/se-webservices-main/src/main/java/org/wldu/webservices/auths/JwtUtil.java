@@ -1,44 +1,50 @@
 package org.wldu.webservices.auths;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
-import io.jsonwebtoken.security.Keys;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
-import java.security.Key;
 import java.util.Date;
 
 @Component
 public class JwtUtil {
 
-    // Use at least 32 characters (256 bits) for HS256
-    private final String SECRET_KEY = "mySuperSecretKeyForJWTs1234567890AB";
-    private final long EXPIRATION = 1000 * 60 * 60; // 1 hour
+    // claim names carried by every token so requests never need a user lookup
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_ROLE = "role";
+    public static final String CLAIM_VERSION = "ver";
 
-    private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(SECRET_KEY.getBytes());
+    private final JwtKeyRing keyRing;
+    private final JwtVerifier verifier;
+    private final long expiration;
+
+    public JwtUtil(JwtKeyRing keyRing, JwtVerifier verifier, JwtProperties properties) {
+        this.keyRing = keyRing;
+        this.verifier = verifier;
+        this.expiration = properties.getExpirationMs();
     }
 
-    public String generateToken(String username) {
+    public String generateToken(User user) {
         return Jwts.builder()
-                .setSubject(username)
+                .setHeaderParam(JwsHeader.KEY_ID, keyRing.activeKeyId())
+                .setSubject(user.getUsername())
+                .claim(CLAIM_USER_ID, user.getId())
+                .claim(CLAIM_ROLE, user.getRole())
+                .claim(CLAIM_VERSION, user.getTokenVersion())
                 .setIssuedAt(new Date())
-                .setExpiration(new Date(System.currentTimeMillis() + EXPIRATION))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .setExpiration(new Date(System.currentTimeMillis() + expiration))
+                .signWith(keyRing.activeKey(), SignatureAlgorithm.HS256)
                 .compact();
     }
 
-    public String extractUsername(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
+    // verifies signature and expiry once; throws JwtException when the token is not usable
+    public Claims parseClaims(String token) {
+        return verifier.parseClaims(token);
     }
 
-    public boolean isTokenValid(String token, UserDetails userDetails) {
-        return extractUsername(token).equals(userDetails.getUsername());
+    public String extractUsername(String token) {
+        return parseClaims(token).getSubject();
     }
 }
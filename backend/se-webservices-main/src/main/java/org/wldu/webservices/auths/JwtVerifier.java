@@ -0,0 +1,161 @@
+package org.wldu.webservices.auths;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.security.SignatureException;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Verifies bearer tokens with one immutable parser whose keys are resolved by
+ * the {@code kid} header. Successfully verified tokens are cached by their
+ * SHA-256 digest until their own {@code exp}, so repeated requests with the
+ * same token skip parsing and HMAC verification. Failures are never cached.
+ * <p>
+ * Revocation is not decided here; callers still check {@link AccountVersions}.
+ */
+@Component
+public class JwtVerifier {
+
+    private static final MessageDigest SHA_256_PROTOTYPE = sha256();
+
+    private final JwtParser parser;
+    private final int maxEntries;
+    private final ConcurrentHashMap<TokenKey, VerifiedToken> cache = new ConcurrentHashMap<>();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+
+    public JwtVerifier(JwtKeyRing keyRing, JwtProperties properties) {
+        this.maxEntries = properties.getVerifiedCacheSize();
+        this.parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        Key key = keyRing.resolve(header.getKeyId());
+                        if (key == null) {
+                            throw new SignatureException("Unknown signing key id: " + header.getKeyId());
+                        }
+                        return key;
+                    }
+                })
+                .build();
+    }
+
+    // full parse + signature check, no cache; throws JwtException when the token is not usable
+    public Claims parseClaims(String token) {
+        return parser.parseClaimsJws(token).getBody();
+    }
+
+    // null when the token is invalid, expired or lacks identity claims
+    public VerifiedToken verify(String token) {
+        long now = System.currentTimeMillis();
+        TokenKey key = TokenKey.of(token);
+
+        VerifiedToken cached = cache.get(key);
+        if (cached != null) {
+            if (!cached.isExpired(now)) {
+                return cached;
+            }
+            cache.remove(key, cached);
+            return null;
+        }
+
+        VerifiedToken verified = verifyUncached(token);
+        if (verified != null && maxEntries > 0) {
+            if (cache.size() >= maxEntries) {
+                evict(now);
+            }
+            cache.put(key, verified);
+        }
+        return verified;
+    }
+
+    public VerifiedToken verifyUncached(String token) {
+        Claims claims;
+        try {
+            claims = parseClaims(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+
+        Number userId = claims.get(JwtUtil.CLAIM_USER_ID, Number.class);
+        String role = claims.get(JwtUtil.CLAIM_ROLE, String.class);
+        Number version = claims.get(JwtUtil.CLAIM_VERSION, Number.class);
+        Date expiration = claims.getExpiration();
+        // tokens that predate identity claims are rejected
+        if (userId == null || role == null || version == null
+                || expiration == null || claims.getSubject() == null) {
+            return null;
+        }
+
+        return new VerifiedToken(
+                new JwtPrincipal(userId.longValue(), claims.getSubject(), role),
+                version.intValue(),
+                expiration.getTime());
+    }
+
+    public int cachedTokens() {
+        return cache.size();
+    }
+
+    // drop expired entries first; if still full, shed ~10% arbitrary entries
+    private void evict(long now) {
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            cache.values().removeIf(token -> token.isExpired(now));
+
+            int target = maxEntries - Math.max(maxEntries / 10, 1);
+            Iterator<TokenKey> it = cache.keySet().iterator();
+            while (cache.size() > target && it.hasNext()) {
+                it.next();
+                it.remove();
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // first 128 bits of the token's SHA-256, raw bearer tokens are never held in the cache
+    private record TokenKey(long high, long low) {
+
+        static TokenKey of(String token) {
+            MessageDigest digest;
+            try {
+                digest = (MessageDigest) SHA_256_PROTOTYPE.clone();
+            } catch (CloneNotSupportedException e) {
+                digest = sha256();
+            }
+            byte[] hash = digest.digest(token.getBytes(StandardCharsets.US_ASCII));
+            return new TokenKey(toLong(hash, 0), toLong(hash, 8));
+        }
+
+        private static long toLong(byte[] bytes, int offset) {
+            long value = 0;
+            for (int i = offset; i < offset + 8; i++) {
+                value = (value << 8) | (bytes[i] & 0xFF);
+            }
+            return value;
+        }
+    }
+}
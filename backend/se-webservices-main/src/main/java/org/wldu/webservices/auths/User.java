@@ -1,10 +1,12 @@
 package org.wldu.webservices.auths;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 @Entity
 @Table(name = "user12")
 @Data
@@ -32,6 +34,12 @@ public class User {
     @Column(nullable = false)
     private boolean active = true;
 
+    // bumped whenever issued tokens must stop working (role change, deactivation, password reset)
+    @JsonIgnore
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private int tokenVersion = 0;
+
     public Long getId() {
         return id;
     }
@@ -71,6 +79,14 @@ public class User {
     public void setActive(boolean active) {
         this.active = active;
     }
+
+    public int getTokenVersion() {
+        return tokenVersion;
+    }
+
+    public void setTokenVersion(int tokenVersion) {
+        this.tokenVersion = tokenVersion;
+    }
 }
 
 
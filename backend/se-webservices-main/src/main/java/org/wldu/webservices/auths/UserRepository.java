@@ -1,11 +1,35 @@
 package org.wldu.webservices.auths;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByUsername(String username);
     boolean existsByUsername(String username);
+
+    // only accounts whose tokens differ from the default (version 0, active)
+    @Query("select new org.wldu.webservices.auths.AccountState(u.id, u.tokenVersion, u.active) "
+            + "from User u where u.tokenVersion > 0 or u.active = false")
+    List<AccountState> findChangedAccountStates();
+
+    @Query("select u.id from User u where u.role = :role and u.active = true")
+    List<Long> findActiveIdsByRole(@Param("role") String role);
+
+    @Query("select u.id from User u where u.id in :ids")
+    Set<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    // rehash-on-login: same password, new cost, so the token version is left alone
+    @Transactional
+    @Modifying
+    @Query("update User u set u.password = :password where u.username = :username")
+    int updatePasswordHash(@Param("username") String username, @Param("password") String password);
 }
 
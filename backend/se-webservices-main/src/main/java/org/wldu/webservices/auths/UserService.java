@@ -2,6 +2,8 @@ package org.wldu.webservices.auths;
 
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.wldu.webservices.services.contracts.AfterCommit;
+import org.wldu.webservices.services.contracts.ListVersions;
 
 import java.util.List;
 
@@ -10,11 +12,20 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ListVersions listVersions;
+    private final AccountVersions accountVersions;
+    private final AdminDirectory adminDirectory;
 
     public UserService(UserRepository userRepository,
-                       PasswordEncoder passwordEncoder) {
+                       PasswordEncoder passwordEncoder,
+                       ListVersions listVersions,
+                       AccountVersions accountVersions,
+                       AdminDirectory adminDirectory) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.listVersions = listVersions;
+        this.accountVersions = accountVersions;
+        this.adminDirectory = adminDirectory;
     }
 
     // ================= REGISTER =================
@@ -29,7 +40,9 @@ public class UserService {
         user.setRole(resolveRole(request.getRole()));
         user.setActive(true);
 
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        AfterCommit.run(() -> adminDirectory.update(saved));
+        return saved;
     }
 
     // ================= GET ALL =================
@@ -42,11 +55,19 @@ public class UserService {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
+        boolean renamed = !user.getUsername().equals(request.getUsername());
         user.setUsername(request.getUsername());
         user.setPassword(passwordEncoder.encode(request.getPassword()));
         user.setRole(resolveRole(request.getRole()));
+        invalidateTokens(user);
 
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        publishAccountState(saved);
+        if (renamed) {
+            // the assignee's username shows up in every kind of task list (all, per user, per category)
+            listVersions.bumpAfterCommit(ListVersions.EVERY_TASK_LIST);
+        }
+        return saved;
     }
 
     // ================= DELETE =================
@@ -55,32 +76,39 @@ public class UserService {
             throw new RuntimeException("User not found");
         }
         userRepository.deleteById(id);
+        AfterCommit.run(() -> {
+            accountVersions.revoke(id);
+            adminDirectory.remove(id);
+        });
     }
 
     // ================= ROLE MANAGEMENT =================
     public void assignRole(Long userId, String role) {
         User user = getUserById(userId);
         user.setRole(resolveRole(role));
-        userRepository.save(user);
+        invalidateTokens(user);
+        publishAccountState(userRepository.save(user));
     }
 
     public void revokeRole(Long userId) {
         User user = getUserById(userId);
         user.setRole("ROLE_USER"); // default role
-        userRepository.save(user);
+        invalidateTokens(user);
+        publishAccountState(userRepository.save(user));
     }
 
     // ================= ACCOUNT STATUS =================
     public void activateUser(Long userId) {
         User user = getUserById(userId);
         user.setActive(true);
-        userRepository.save(user);
+        publishAccountState(userRepository.save(user));
     }
 
     public void deactivateUser(Long userId) {
         User user = getUserById(userId);
         user.setActive(false);
-        userRepository.save(user);
+        invalidateTokens(user);
+        publishAccountState(userRepository.save(user));
     }
 
     // ================= REST PASSWORD  =================
@@ -93,7 +121,8 @@ public class UserService {
         }
 
         user.setPassword(passwordEncoder.encode(newPassword));
-        userRepository.save(user);
+        invalidateTokens(user);
+        publishAccountState(userRepository.save(user));
     }
 
 
@@ -119,7 +148,24 @@ public class UserService {
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
         user.setActive(!user.isActive()); // switch state
-        userRepository.save(user);
+        if (!user.isActive()) {
+            invalidateTokens(user);
+        }
+        publishAccountState(userRepository.save(user));
+    }
+
+    // ================= TOKEN REVOCATION =================
+    // tokens carry the version they were issued with, bumping it retires all of them
+    private void invalidateTokens(User user) {
+        user.setTokenVersion(user.getTokenVersion() + 1);
+    }
+
+    // token versions and admin membership both follow role and active changes
+    private void publishAccountState(User saved) {
+        AfterCommit.run(() -> {
+            accountVersions.update(saved);
+            adminDirectory.update(saved);
+        });
     }
 
 }
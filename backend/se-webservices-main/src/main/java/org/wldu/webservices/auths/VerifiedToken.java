@@ -0,0 +1,9 @@
+package org.wldu.webservices.auths;
+
+// Result of a successful signature check, safe to share between requests
+public record VerifiedToken(JwtPrincipal principal, int version, long expiresAtMillis) {
+
+    public boolean isExpired(long nowMillis) {
+        return nowMillis >= expiresAtMillis;
+    }
+}
@@ -0,0 +1,38 @@
+package org.wldu.webservices.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+// Meters beyond what actuator binds by itself (http.server.requests, hikaricp.*, jvm.*,
+// and hibernate.* once hibernate-micrometer is present and statistics are on)
+@Configuration
+public class MetricsConfig {
+
+    // 🔹 @Timed("service.method") on TaskService, CommentService, NotificationService
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+
+    // 🔹 SQL statements per request
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementCounter() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlStatementCounter());
+    }
+
+    @Bean
+    public WebMvcConfigurer sqlCountInterceptor(MeterRegistry registry) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry interceptors) {
+                interceptors.addInterceptor(new SqlCountInterceptor(registry)).addPathPatterns("/api/**");
+            }
+        };
+    }
+}
@@ -0,0 +1,110 @@
+package org.wldu.webservices.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.wldu.webservices.services.contracts.CategoryService;
+import org.wldu.webservices.services.contracts.CommentService;
+import org.wldu.webservices.services.contracts.NotificationService;
+import org.wldu.webservices.services.contracts.TaskService;
+
+import javax.sql.DataSource;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Read/write split, only when datasource.replica.jdbc-url is set. Without it
+ * Boot's single pool stays in place and readOnly transactions just skip
+ * Hibernate's dirty checking. Pools are named "primary" and "replica" in the
+ * hikaricp.* meters.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "datasource.replica", name = "jdbc-url")
+public class ReadReplicaConfig {
+
+    // services whose @Transactional(readOnly = true) methods may be answered by the replica
+    static final Set<String> REPLICA_SERVICES = Stream.of(
+                    TaskService.class, CommentService.class, NotificationService.class, CategoryService.class)
+            .map(Class::getName)
+            .collect(Collectors.toUnmodifiableSet());
+
+    // 🔹 PRIMARY: the spring.datasource.* pool Boot would have built; Flyway migrates it
+    @Bean
+    @FlywayDataSource
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        pool.setPoolName("primary");
+        return pool;
+    }
+
+    // 🔹 REPLICA: bound from datasource.replica.* (jdbc-url, username, password, maximum-pool-size, ...)
+    @Bean
+    @ConfigurationProperties("datasource.replica")
+    public HikariDataSource replicaDataSource() {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setPoolName("replica");
+        pool.setReadOnly(true);
+        return pool;
+    }
+
+    // what JPA, JdbcTemplate and the repositories see; the connection is fetched at the first statement
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica,
+                                 ReplicaReads replicaReads) {
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, replica, REPLICA_SERVICES, replicaReads);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    // 🔹 READ-YOUR-WRITES: a mutating API call keeps the caller's reads on the primary for a while
+    @Bean
+    public WebMvcConfigurer recentWriteInterceptor(ReplicaReads replicaReads) {
+        HandlerInterceptor interceptor = new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                if (isWrite(request)) {
+                    replicaReads.recordWriteByCurrentUser();
+                }
+                return true;
+            }
+
+            // again once the write has committed, so the window starts from there
+            @Override
+            public void afterCompletion(HttpServletRequest request, HttpServletResponse response,
+                                        Object handler, Exception ex) {
+                if (isWrite(request)) {
+                    replicaReads.recordWriteByCurrentUser();
+                }
+            }
+        };
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry interceptors) {
+                interceptors.addInterceptor(interceptor).addPathPatterns("/api/**");
+            }
+        };
+    }
+
+    private static boolean isWrite(HttpServletRequest request) {
+        return switch (request.getMethod()) {
+            case "GET", "HEAD", "OPTIONS" -> false;
+            default -> true;
+        };
+    }
+}
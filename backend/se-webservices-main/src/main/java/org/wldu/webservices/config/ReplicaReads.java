@@ -0,0 +1,76 @@
+package org.wldu.webservices.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * The replica lags the primary, so some reads must not go there even when
+ * they run in a read-only service transaction: reads by a user who wrote
+ * something within the last primary-after-write-ms (read-your-writes), and
+ * reads wrapped in {@link #onPrimary}. Consulted by ReplicaRoutingDataSource;
+ * without a replica configured nothing reads it.
+ */
+@Component
+public class ReplicaReads {
+
+    private static final ThreadLocal<Boolean> PRIMARY = new ThreadLocal<>();
+    private static final int PRUNE_ABOVE = 10_000;
+
+    private final long windowNanos;
+    private final ConcurrentHashMap<String, Long> lastWrites = new ConcurrentHashMap<>();
+
+    public ReplicaReads(@Value("${datasource.routing.primary-after-write-ms:5000}") long windowMillis) {
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+    }
+
+    // 🔹 READ-YOUR-WRITES (keyed by username; anonymous callers are not tracked)
+    public void recordWriteByCurrentUser() {
+        String username = currentUsername();
+        if (username == null) {
+            return;
+        }
+        long now = System.nanoTime();
+        lastWrites.put(username, now);
+        if (lastWrites.size() > PRUNE_ABOVE) {
+            lastWrites.values().removeIf(at -> now - at > windowNanos);
+        }
+    }
+
+    public boolean currentUserWroteRecently() {
+        String username = currentUsername();
+        Long at = username != null ? lastWrites.get(username) : null;
+        return at != null && System.nanoTime() - at <= windowNanos;
+    }
+
+    // 🔹 reads that must see everything committed so far, whoever wrote it
+    public static <T> T onPrimary(Supplier<T> reads) {
+        if (PRIMARY.get() != null) {
+            return reads.get();
+        }
+        PRIMARY.set(Boolean.TRUE);
+        try {
+            return reads.get();
+        } finally {
+            PRIMARY.remove();
+        }
+    }
+
+    static boolean primaryRequested() {
+        return PRIMARY.get() != null;
+    }
+
+    private static String currentUsername() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || !auth.isAuthenticated() || auth instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return auth.getName();
+    }
+}
@@ -0,0 +1,51 @@
+package org.wldu.webservices.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Chooses the pool for a connection. It sits behind a
+ * LazyConnectionDataSourceProxy, so the choice is made at the transaction's
+ * first statement, when its read-only flag and name are already bound.
+ * The replica gets read-only transactions started by one of the replica
+ * services (the name is "declaring.Class.method") unless ReplicaReads asks for
+ * the primary; everything else, including bare repository calls, stays on the
+ * primary.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Target { PRIMARY, REPLICA }
+
+    private final Set<String> replicaServices;
+    private final ReplicaReads replicaReads;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica,
+                                    Set<String> replicaServices, ReplicaReads replicaReads) {
+        this.replicaServices = replicaServices;
+        this.replicaReads = replicaReads;
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return mayUseReplica() ? Target.REPLICA : Target.PRIMARY;
+    }
+
+    private boolean mayUseReplica() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return false;
+        }
+        String name = TransactionSynchronizationManager.getCurrentTransactionName();
+        int method = name != null ? name.lastIndexOf('.') : -1;
+        if (method < 0 || !replicaServices.contains(name.substring(0, method))) {
+            return false;
+        }
+        return !ReplicaReads.primaryRequested() && !replicaReads.currentUserWroteRecently();
+    }
+}
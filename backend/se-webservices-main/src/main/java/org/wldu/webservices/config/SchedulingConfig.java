@@ -0,0 +1,16 @@
+package org.wldu.webservices.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// both use Boot's applicationTaskExecutor / taskScheduler, which run on
+// virtual threads when spring.threads.virtual.enabled=true (virtual profile);
+// otherwise taskScheduler has spring.task.scheduling.pool.size threads, one per
+// @Scheduled job, so the due-date sweep and the nightly reconcile run beside
+// the outbox drain instead of in front of it
+@Configuration
+@EnableScheduling
+@EnableAsync
+public class SchedulingConfig {
+}
@@ -1,5 +1,7 @@
 package org.wldu.webservices.config;
 
+import jakarta.servlet.DispatcherType;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -8,13 +10,14 @@ import org.springframework.security.config.annotation.authentication.configurati
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
-import org.wldu.webservices.auths.CustomUserDetailsService;
+import org.wldu.webservices.auths.AccountVersions;
 import org.wldu.webservices.auths.JwtAuthFilter;
-import org.wldu.webservices.auths.JwtUtil;
+import org.wldu.webservices.auths.JwtVerifier;
+import org.wldu.webservices.auths.OffloadedPasswordEncoder;
+import org.wldu.webservices.auths.PasswordHashingExecutor;
 
 @Configuration
 @EnableMethodSecurity
@@ -22,10 +25,10 @@ public class SecurityConfig {
 
     @Bean
     public JwtAuthFilter jwtAuthFilter(
-            JwtUtil jwtUtil,
-            CustomUserDetailsService userDetailsService
+            JwtVerifier jwtVerifier,
+            AccountVersions accountVersions
     ) {
-        return new JwtAuthFilter(jwtUtil, userDetailsService);
+        return new JwtAuthFilter(jwtVerifier, accountVersions);
     }
 
     @Bean
@@ -42,6 +45,8 @@ public class SecurityConfig {
                 )
                 .authorizeHttpRequests(auth -> auth
 
+                        // streamed bodies finish on an ASYNC dispatch; the request was authorized on entry
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers(
                                 "/swagger-ui/**",
                                 "/v3/api-docs/**",
@@ -54,6 +59,14 @@ public class SecurityConfig {
                         .requestMatchers("/api/tasks/assign").hasRole("ADMIN")
                         .requestMatchers("/api/tasks/get-all").hasRole("ADMIN")
                         .requestMatchers("/api/tasks/unassigned").hasRole("ADMIN")
+                        .requestMatchers("/api/tasks/get-all/page").hasRole("ADMIN")
+                        .requestMatchers("/api/tasks/unassigned/page").hasRole("ADMIN")
+                        .requestMatchers("/api/tasks/export").hasRole("ADMIN")
+                        .requestMatchers("/api/tasks/query").hasRole("ADMIN")
+                        .requestMatchers("/api/tasks/search", "/api/tasks/search/**").hasRole("ADMIN")
+                        .requestMatchers("/api/tasks/bulk/**").hasRole("ADMIN")
+                        .requestMatchers("/api/tasks/activity/**").hasRole("ADMIN")
+                        .requestMatchers("/api/tasks/stats").hasRole("ADMIN")
                         .requestMatchers("/api/tasks/update/**").hasRole("ADMIN")
                         .requestMatchers("/api/tasks/delete/**").hasRole("ADMIN")
                         .requestMatchers("/api/tasks/{taskId}/**").permitAll()
@@ -66,6 +79,10 @@ public class SecurityConfig {
                         .requestMatchers("/api/notifications/**").hasAnyRole("USER", "ADMIN")
                         .requestMatchers("/api/comments/**").hasAnyRole("USER", "ADMIN")
 
+                        .requestMatchers("/actuator/health").permitAll()
+                        // metrics and prometheus name routes, users and pool sizes; scrape with an admin token
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
+
                         .anyRequest().authenticated()
                 )
                 .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
@@ -74,8 +91,11 @@ public class SecurityConfig {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            @Value("${security.password.bcrypt-cost:10}") int bcryptCost,
+            PasswordHashingExecutor passwordHashingExecutor
+    ) {
+        return new OffloadedPasswordEncoder(bcryptCost, passwordHashingExecutor);
     }
 
     @Bean
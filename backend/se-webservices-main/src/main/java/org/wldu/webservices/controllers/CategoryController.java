@@ -5,8 +5,10 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.wldu.webservices.enities.Category;
 import org.wldu.webservices.services.contracts.CategoryService;
+import org.wldu.webservices.services.contracts.ListVersions;
 
 import java.util.List;
 
@@ -16,6 +18,7 @@ import java.util.List;
 public class CategoryController {
 
     private final CategoryService categoryService;
+    private final ListVersions listVersions;
 
     // ✅ Create category
     @PostMapping("/create-categories")
@@ -26,7 +29,8 @@ public class CategoryController {
 
     // ✅ Get all categories
     @GetMapping("/list-categories")
-    public ResponseEntity<List<Category>> getAll() {
-        return ResponseEntity.ok(categoryService.getAllCategories());
+    public ResponseEntity<List<Category>> getAll(WebRequest request) {
+        return ConditionalGet.respond(request, listVersions, ListVersions.CATEGORIES,
+                categoryService::getAllCategories);
     }
 }
@@ -7,6 +7,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 import org.wldu.webservices.dtoFiles.CommentRequest;
 import org.wldu.webservices.dtoFiles.CommentResponse;
+import org.wldu.webservices.dtoFiles.CursorPage;
 import org.wldu.webservices.services.contracts.CommentService;
 
 import java.util.List;
@@ -36,4 +37,14 @@ public class CommentController {
     public List<CommentResponse> getComments(@PathVariable Long taskId) {
         return commentService.getComments(taskId);
     }
+
+    @GetMapping("/{taskId}/page")
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    public CursorPage<CommentResponse> getCommentsPage(
+            @PathVariable Long taskId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit
+    ) {
+        return commentService.getCommentsPage(taskId, cursor, limit);
+    }
 }
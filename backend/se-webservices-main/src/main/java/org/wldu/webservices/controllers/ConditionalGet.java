@@ -0,0 +1,44 @@
+package org.wldu.webservices.controllers;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+import org.wldu.webservices.config.ReplicaReads;
+import org.wldu.webservices.services.contracts.ListVersions;
+
+import java.util.function.Supplier;
+
+/**
+ * Answers If-None-Match with 304 before the body supplier runs, so a cache hit
+ * costs neither a query nor serialization. Clients must revalidate every time
+ * (no-cache) and shared caches must not store per-user lists (private).
+ * A body for a scope that just changed is read from the primary: a lagging
+ * replica would pair the new ETag with old rows, and revalidation would keep
+ * serving those until the next change.
+ */
+final class ConditionalGet {
+
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    private ConditionalGet() {
+    }
+
+    static <T> ResponseEntity<T> respond(WebRequest request, ListVersions versions, String scope,
+                                         Supplier<T> body) {
+        String etag = versions.etag(scope);
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(REVALIDATE)
+                    .varyBy(HttpHeaders.AUTHORIZATION)
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(REVALIDATE)
+                .varyBy(HttpHeaders.AUTHORIZATION)
+                .body(versions.changedRecently(scope) ? ReplicaReads.onPrimary(body) : body.get());
+    }
+}
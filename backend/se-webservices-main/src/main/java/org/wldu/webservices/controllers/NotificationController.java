@@ -1,13 +1,23 @@
 package org.wldu.webservices.controllers;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.Authentication;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.wldu.webservices.auths.JwtPrincipal;
 import org.wldu.webservices.auths.User;
+import org.wldu.webservices.dtoFiles.CursorPage;
 import org.wldu.webservices.dtoFiles.NotificationResponse;
+import org.wldu.webservices.services.contracts.ListVersions;
 import org.wldu.webservices.services.contracts.NotificationService;
+import org.wldu.webservices.services.contracts.NotificationStreams;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/notifications")
@@ -15,10 +25,65 @@ import java.util.List;
 public class NotificationController {
 
     private final NotificationService notificationService;
+    private final ListVersions listVersions;
+    private final NotificationStreams notificationStreams;
+
+    @Value("${notifications.stream.replay-limit:200}")
+    private int replayLimit;
 
     @GetMapping("/my")
-    public List<NotificationResponse> myNotifications(Authentication auth) {
-        String username = auth.getName(); // ✅ SAFE
-        return notificationService.getUserNotificationsByUsername(username);
+    public ResponseEntity<List<NotificationResponse>> myNotifications(
+            @AuthenticationPrincipal JwtPrincipal principal, WebRequest request) {
+        String username = principal.getName(); // ✅ SAFE
+        return ConditionalGet.respond(request, listVersions, ListVersions.userNotifications(principal.userId()),
+                () -> notificationService.getUserNotificationsByUsername(username));
+    }
+
+    // 📥 INBOX: newest first, keyset pages
+    @GetMapping("/inbox")
+    public CursorPage<NotificationResponse> inbox(
+            @AuthenticationPrincipal JwtPrincipal principal,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit
+    ) {
+        return notificationService.getInboxPage(principal.userId(), cursor, limit);
+    }
+
+    @GetMapping("/unread-count")
+    public Map<String, Long> unreadCount(@AuthenticationPrincipal JwtPrincipal principal) {
+        return Map.of("unread", notificationService.getUnreadCount(principal.userId()));
+    }
+
+    // marks every notification up to (and including) upToId as seen; without upToId, all of them
+    @PutMapping("/mark-seen")
+    public Map<String, Integer> markSeen(
+            @AuthenticationPrincipal JwtPrincipal principal,
+            @RequestParam(required = false) Long upToId
+    ) {
+        int updated = notificationService.markSeenUpTo(principal.userId(), upToId);
+        return Map.of("updated", updated);
+    }
+
+    // 🔔 PUSH: new notifications as server-sent events, resumable with Last-Event-ID
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(
+            @AuthenticationPrincipal JwtPrincipal principal,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId
+    ) {
+        long after = parseEventId(lastEventId);
+        return notificationStreams.subscribe(principal.userId(), after,
+                () -> notificationService.getMissedNotifications(principal.userId(), after, replayLimit),
+                replayLimit);
+    }
+
+    private static long parseEventId(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return 0;
+        }
+        try {
+            return Math.max(Long.parseLong(lastEventId.trim()), 0);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
     }
 }
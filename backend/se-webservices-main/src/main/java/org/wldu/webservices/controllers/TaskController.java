@@ -1,18 +1,34 @@
 package org.wldu.webservices.controllers;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.wldu.webservices.dtoFiles.BulkResponse;
+import org.wldu.webservices.dtoFiles.CursorPage;
+import org.wldu.webservices.dtoFiles.SearchIndexReport;
 import org.wldu.webservices.dtoFiles.TaskAssignRequest;
 import org.wldu.webservices.dtoFiles.TaskCreateRequest;
+import org.wldu.webservices.dtoFiles.TaskFilter;
 import org.wldu.webservices.dtoFiles.TaskResponse;
+import org.wldu.webservices.dtoFiles.TaskStatsResponse;
+import org.wldu.webservices.dtoFiles.TaskStatusChange;
 import org.wldu.webservices.dtoFiles.TaskUpdateRequest;
 import org.wldu.webservices.enities.*;
+import org.wldu.webservices.services.contracts.ListVersions;
+import org.wldu.webservices.services.contracts.TaskActivityReconciler;
+import org.wldu.webservices.services.contracts.TaskBulkService;
+import org.wldu.webservices.services.contracts.TaskExportService;
+import org.wldu.webservices.services.contracts.TaskSearchIndex;
 import org.wldu.webservices.services.contracts.TaskService;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/tasks")
@@ -20,6 +36,11 @@ import java.util.List;
 public class TaskController {
 
     private final TaskService taskService;
+    private final TaskBulkService taskBulkService;
+    private final TaskActivityReconciler taskActivityReconciler;
+    private final TaskExportService taskExportService;
+    private final TaskSearchIndex taskSearchIndex;
+    private final ListVersions listVersions;
 
     @PostMapping("/create")
     @PreAuthorize("hasRole('ADMIN')")
@@ -35,8 +56,9 @@ public class TaskController {
 
     @GetMapping("/get-all")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<TaskResponse>> all() {
-        return ResponseEntity.ok(taskService.getAllTasks());
+    public ResponseEntity<List<TaskResponse>> all(WebRequest request) {
+        return ConditionalGet.respond(request, listVersions, ListVersions.ALL_TASKS,
+                taskService::getAllTasks);
     }
 
     @GetMapping("/unassigned")
@@ -47,25 +69,127 @@ public class TaskController {
 
     @GetMapping("/my-tasks")
     @PreAuthorize("hasRole('USER')")
-    public ResponseEntity<List<TaskResponse>> myTasks(Authentication auth) {
+    public ResponseEntity<List<TaskResponse>> myTasks(Authentication auth, WebRequest request) {
+        String username = auth.getName();
+        return ConditionalGet.respond(request, listVersions, ListVersions.userTasks(username),
+                () -> taskService.getTasksForUsername(username));
+    }
+
+
+    @GetMapping("/category/{categoryId}")
+
+    public ResponseEntity<List<TaskResponse>> byCategory(@PathVariable Long categoryId, WebRequest request) {
+        return ConditionalGet.respond(request, listVersions, ListVersions.categoryTasks(categoryId),
+                () -> taskService.getTasksByCategory(categoryId));
+    }
+
+    // DASHBOARD AGGREGATES (in-memory counters, a few KB regardless of task count)
+    @GetMapping("/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<TaskStatsResponse> stats() {
+        return ResponseEntity.ok(taskService.getStats());
+    }
+
+    // KEYSET PAGINATED LISTS
+    @GetMapping("/get-all/page")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CursorPage<TaskResponse>> allPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(taskService.getAllTasksPage(cursor, limit));
+    }
+
+    @GetMapping("/unassigned/page")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CursorPage<TaskResponse>> unassignedPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(taskService.getUnassignedTasksPage(cursor, limit));
+    }
+
+    @GetMapping("/my-tasks/page")
+    @PreAuthorize("hasRole('USER')")
+    public ResponseEntity<CursorPage<TaskResponse>> myTasksPage(
+            Authentication auth,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
         return ResponseEntity.ok(
-                taskService.getTasksForUsername(auth.getName())
+                taskService.getTasksForUsernamePage(auth.getName(), cursor, limit)
         );
     }
 
+    @GetMapping("/category/{categoryId}/page")
+    public ResponseEntity<CursorPage<TaskResponse>> byCategoryPage(
+            @PathVariable Long categoryId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(taskService.getTasksByCategoryPage(categoryId, cursor, limit));
+    }
 
-    @GetMapping("/category/{categoryId}")
+    // MULTI-CRITERIA FILTER (status, categoryId, assigneeId, dueFrom, dueTo)
+    @GetMapping("/query")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CursorPage<TaskResponse>> query(
+            @ModelAttribute TaskFilter filter,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(taskService.queryTasks(filter, cursor, limit));
+    }
+
+    // STREAMING EXPORT (ndjson | csv, optionally gzipped)
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+
+        TaskExportService.Format exportFormat = TaskExportService.Format.parse(format);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"tasks." + exportFormat.getExtension() + "\"");
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
 
-    public ResponseEntity<List<TaskResponse>> byCategory(@PathVariable Long categoryId) {
-        return ResponseEntity.ok(taskService.getTasksByCategory(categoryId));
+        return response.body(out -> taskExportService.export(exportFormat, gzip, out));
+    }
+
+    // FULL-TEXT SEARCH
+    @GetMapping("/search")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<TaskResponse>> search(
+            @RequestParam String q,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(taskService.searchTasks(q, limit));
+    }
+
+    @PostMapping("/search/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<SearchIndexReport> rebuildSearchIndex() {
+        return ResponseEntity.ok(taskSearchIndex.rebuild());
+    }
+
+    @GetMapping("/search/verify")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<SearchIndexReport> verifySearchIndex() {
+        return ResponseEntity.ok(taskSearchIndex.verify());
+    }
+
+    @PostMapping("/activity/reconcile")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Integer>> reconcileActivity() {
+        return ResponseEntity.ok(Map.of("repaired", taskActivityReconciler.reconcile()));
     }
 
     @PutMapping("/status/{taskId}")
     public ResponseEntity<?> updateStatus(
             @PathVariable Long taskId,
-            @RequestParam String status
+            @RequestParam String status,
+            @RequestParam(required = false) Long version
     ) {
-        taskService.updateTaskStatus(taskId, status);
+        taskService.updateTaskStatus(taskId, status, version);
         return ResponseEntity.ok().build();
     }
 
@@ -79,6 +203,31 @@ public class TaskController {
         return ResponseEntity.ok(taskService.updateTask(taskId, request));
     }
 
+    // BULK (importers): per-item results, chunked transactions
+    @PostMapping("/bulk/create")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BulkResponse> bulkCreate(@RequestBody List<TaskCreateRequest> requests) {
+        return ResponseEntity.ok(taskBulkService.createTasks(requests));
+    }
+
+    @PutMapping("/bulk/assign")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BulkResponse> bulkAssign(@RequestBody List<TaskAssignRequest> requests) {
+        return ResponseEntity.ok(taskBulkService.assignTasks(requests));
+    }
+
+    @PutMapping("/bulk/status")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BulkResponse> bulkStatus(@RequestBody List<TaskStatusChange> changes) {
+        return ResponseEntity.ok(taskBulkService.updateStatuses(changes));
+    }
+
+    @PostMapping("/bulk/delete")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BulkResponse> bulkDelete(@RequestBody List<Long> taskIds) {
+        return ResponseEntity.ok(taskBulkService.deleteTasks(taskIds));
+    }
+
     // DELETE TASKS
     @DeleteMapping("/delete/{taskId}")
     @PreAuthorize("hasRole('ADMIN')")
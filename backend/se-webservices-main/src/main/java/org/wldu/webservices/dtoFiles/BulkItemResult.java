@@ -0,0 +1,23 @@
+package org.wldu.webservices.dtoFiles;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Outcome of one element of a bulk request, index is its position in the request array
+@Getter
+@AllArgsConstructor
+public class BulkItemResult {
+
+    private int index;
+    private Long taskId;
+    private boolean success;
+    private String error;
+
+    public static BulkItemResult ok(int index, Long taskId) {
+        return new BulkItemResult(index, taskId, true, null);
+    }
+
+    public static BulkItemResult failed(int index, Long taskId, String error) {
+        return new BulkItemResult(index, taskId, false, error);
+    }
+}
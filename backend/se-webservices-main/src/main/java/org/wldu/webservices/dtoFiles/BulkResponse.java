@@ -0,0 +1,20 @@
+package org.wldu.webservices.dtoFiles;
+
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+public class BulkResponse {
+
+    private final int succeeded;
+    private final int failed;
+    private final List<BulkItemResult> results;
+
+    public BulkResponse(List<BulkItemResult> results) {
+        int ok = (int) results.stream().filter(BulkItemResult::isSuccess).count();
+        this.succeeded = ok;
+        this.failed = results.size() - ok;
+        this.results = results;
+    }
+}
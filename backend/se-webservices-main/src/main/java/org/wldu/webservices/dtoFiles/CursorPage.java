@@ -0,0 +1,27 @@
+package org.wldu.webservices.dtoFiles;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset-paginated listing. {@code nextCursor} is opaque to
+ * clients and is only present when {@code hasMore} is true.
+ */
+@Getter
+@AllArgsConstructor
+public class CursorPage<T> {
+    private List<T> items;
+    private String nextCursor;
+    private boolean hasMore;
+
+    // rows were fetched with size + 1, the extra row only signals that another page exists
+    public static <T> CursorPage<T> of(List<T> rows, int size, Function<T, String> cursorOf) {
+        boolean hasMore = rows.size() > size;
+        List<T> items = hasMore ? rows.subList(0, size) : rows;
+        String next = hasMore ? cursorOf.apply(items.get(size - 1)) : null;
+        return new CursorPage<>(items, next, hasMore);
+    }
+}
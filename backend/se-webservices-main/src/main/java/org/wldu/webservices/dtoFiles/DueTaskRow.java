@@ -0,0 +1,7 @@
+package org.wldu.webservices.dtoFiles;
+
+import java.time.LocalDate;
+
+// A task the due-date sweeper may notify about; assigneeId is null for unassigned tasks
+public record DueTaskRow(Long id, String title, LocalDate dueDate, Long assigneeId) {
+}
@@ -0,0 +1,5 @@
+package org.wldu.webservices.dtoFiles;
+
+// A notification about to be inserted, produced by the outbox dispatcher
+public record NotificationDraft(Long userId, String message) {
+}
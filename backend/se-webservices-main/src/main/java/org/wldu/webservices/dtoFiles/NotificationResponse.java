@@ -1,10 +1,14 @@
 package org.wldu.webservices.dtoFiles;
 
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
 
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 public class NotificationResponse {
 
     private Long id;
@@ -0,0 +1,19 @@
+package org.wldu.webservices.dtoFiles;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class SearchIndexReport {
+    private long indexedDocuments;
+    private long databaseRows;
+    private long missing;   // in the database, not in the index
+    private long stale;     // indexed with outdated text
+    private long orphaned;  // in the index, no longer in the database
+    private long durationMillis;
+
+    public boolean isConsistent() {
+        return missing == 0 && stale == 0 && orphaned == 0;
+    }
+}
@@ -0,0 +1,22 @@
+package org.wldu.webservices.dtoFiles;
+
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.wldu.webservices.enities.TaskStatus;
+
+import java.time.LocalDate;
+
+// Every field is optional, null means "do not filter on this"
+@Data
+public class TaskFilter {
+
+    private TaskStatus status;
+    private Long categoryId;
+    private Long assigneeId;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate dueFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate dueTo;
+}
@@ -6,6 +6,7 @@ import lombok.Setter;
 import org.wldu.webservices.enities.TaskStatus;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 
 @Getter
 @Setter
@@ -18,4 +19,8 @@ public class TaskResponse {
     private String assignedToUsername;
     private String categoryName;
     private LocalDate dueDate;
+    private long version; // send back with status changes to detect concurrent edits
+    private int commentCount;
+    private LocalDateTime lastCommentAt;
+    private LocalDateTime lastStatusChangeAt;
 }
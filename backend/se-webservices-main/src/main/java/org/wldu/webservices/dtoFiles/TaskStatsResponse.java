@@ -0,0 +1,14 @@
+package org.wldu.webservices.dtoFiles;
+
+import java.util.List;
+import java.util.Map;
+
+// Dashboard aggregates; a null bucket id means "no category" / "unassigned"
+public record TaskStatsResponse(long total,
+                                Map<String, Long> byStatus,
+                                List<Bucket> byCategory,
+                                List<Bucket> byAssignee) {
+
+    public record Bucket(Long id, String name, long total, Map<String, Long> byStatus) {
+    }
+}
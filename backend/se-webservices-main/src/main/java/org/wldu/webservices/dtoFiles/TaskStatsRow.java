@@ -0,0 +1,8 @@
+package org.wldu.webservices.dtoFiles;
+
+import org.wldu.webservices.enities.TaskStatus;
+
+// One GROUP BY row of task counts by status, category and assignee
+public record TaskStatsRow(TaskStatus status, Long categoryId, String categoryName,
+                           Long assigneeId, String assigneeUsername, long count) {
+}
@@ -0,0 +1,11 @@
+package org.wldu.webservices.dtoFiles;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class TaskStatusChange {
+    private Long taskId;
+    private String status;
+}
@@ -0,0 +1,8 @@
+package org.wldu.webservices.dtoFiles;
+
+import org.wldu.webservices.enities.TaskStatus;
+
+// What status transitions and comment writes need to know about a task, read without loading the entity
+public record TaskStatusView(Long id, String title, TaskStatus status, long version,
+                             Long assignedUserId, String assignedToUsername, Long categoryId) {
+}
@@ -0,0 +1,5 @@
+package org.wldu.webservices.dtoFiles;
+
+// Searchable text of a task, read without hydrating the entity
+public record TaskText(Long id, String title, String description) {
+}
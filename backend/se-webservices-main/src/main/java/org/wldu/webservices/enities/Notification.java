@@ -15,10 +15,14 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 public class Notification {
 
+    public static final int MESSAGE_LENGTH = 255;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notifications_seq")
+    @SequenceGenerator(name = "notifications_seq", sequenceName = "notifications_seq", allocationSize = 50)
     private Long id;
 
+    @Column(length = MESSAGE_LENGTH)
     private String message;
 
     private boolean seen = false;
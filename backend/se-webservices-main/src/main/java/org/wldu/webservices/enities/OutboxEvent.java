@@ -0,0 +1,39 @@
+package org.wldu.webservices.enities;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.time.LocalDateTime;
+
+// Written in the same transaction as the task change, turned into notifications later
+@Entity
+@Table(name = "notification_outbox")
+@Getter
+@Setter
+@NoArgsConstructor
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notification_outbox_seq")
+    @SequenceGenerator(name = "notification_outbox_seq", sequenceName = "notification_outbox_seq", allocationSize = 50)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private OutboxEventType type;
+
+    private Long recipientId;
+
+    @Column(nullable = false, length = 1000)
+    private String message;
+
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    // failed dispatch attempts, events past the limit stay in the table for inspection
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private int attempts = 0;
+}
@@ -0,0 +1,6 @@
+package org.wldu.webservices.enities;
+
+public enum OutboxEventType {
+    USER_NOTIFICATION,  // recipientId is the user to notify
+    ADMIN_NOTIFICATION  // fanned out to admins when dispatched
+}
@@ -4,19 +4,24 @@ import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
 import org.wldu.webservices.auths.User;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 
 @Entity
+// indexes live in the migrations (db/migration/{vendor})
 @Table(name = "tasks")
 @Getter
 @Setter
 @NoArgsConstructor
 public class Task {
 
+    // pooled sequence so inserts can be JDBC-batched (IDENTITY forces one round trip per row)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tasks_seq")
+    @SequenceGenerator(name = "tasks_seq", sequenceName = "tasks_seq", allocationSize = 50)
     private Long id;
 
     private String title;
@@ -27,6 +32,28 @@ public class Task {
 
     private LocalDate dueDate;
 
+    // optimistic locking: entity updates and status transitions both check and bump it
+    @Version
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private long version;
+
+    // 🔹 ACTIVITY SUMMARY: written only by in-place UPDATEs (see TaskRepository), never by entity saves
+    @Column(nullable = false, insertable = false, updatable = false)
+    @ColumnDefault("0")
+    private int commentCount;
+
+    @Column(insertable = false, updatable = false)
+    private LocalDateTime lastCommentAt;
+
+    @Column(insertable = false, updatable = false)
+    private LocalDateTime lastStatusChangeAt;
+
+    // last due-date notice sent (see DueDateSweeper); reset when the due date changes
+    @Column(nullable = false, insertable = false, updatable = false)
+    @ColumnDefault("0")
+    private int dueNoticeStage;
+
     @ManyToOne
     @JoinColumn(name = "assigned_user_id")
     private User assignedUser;
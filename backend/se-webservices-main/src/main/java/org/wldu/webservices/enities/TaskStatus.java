@@ -3,5 +3,14 @@ package org.wldu.webservices.enities;
 public enum TaskStatus {
     PENDING,
     IN_PROGRESS,
-    COMPLETED
+    COMPLETED;
+
+    // completed tasks can be reopened into progress, but not straight back to pending
+    public boolean canTransitionTo(TaskStatus next) {
+        return switch (this) {
+            case PENDING -> next == IN_PROGRESS || next == COMPLETED;
+            case IN_PROGRESS -> next == PENDING || next == COMPLETED;
+            case COMPLETED -> next == IN_PROGRESS;
+        };
+    }
 }
@@ -0,0 +1,9 @@
+package org.wldu.webservices.exceptions;
+
+// Bulk request with no items, or more than tasks.bulk.max-items
+public class BulkSizeLimitException extends RuntimeException {
+
+    public BulkSizeLimitException(String message) {
+        super(message);
+    }
+}
@@ -1,7 +1,9 @@
 package org.wldu.webservices.exceptions;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -25,4 +27,59 @@ public class GlobalExceptionHandler {
 
         return new ResponseEntity<>(errors, HttpStatus.BAD_REQUEST);
     }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<Map<String, String>> handleInvalidCursor(
+            InvalidCursorException ex
+    ) {
+        return new ResponseEntity<>(Map.of("cursor", ex.getMessage()), HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(PasswordHashingBusyException.class)
+    public ResponseEntity<Map<String, String>> handleHashingBusy(
+            PasswordHashingBusyException ex
+    ) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(Map.of("error", ex.getMessage()));
+    }
+
+    @ExceptionHandler(SearchIndexNotReadyException.class)
+    public ResponseEntity<Map<String, String>> handleSearchIndexNotReady(
+            SearchIndexNotReadyException ex
+    ) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .body(Map.of("error", ex.getMessage()));
+    }
+
+    @ExceptionHandler(TaskConflictException.class)
+    public ResponseEntity<Map<String, String>> handleTaskConflict(
+            TaskConflictException ex
+    ) {
+        return new ResponseEntity<>(Map.of("error", ex.getMessage()), HttpStatus.CONFLICT);
+    }
+
+    // @Version check failed on an entity update (assign, update, bulk paths)
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<Map<String, String>> handleOptimisticLock(
+            ObjectOptimisticLockingFailureException ex
+    ) {
+        return new ResponseEntity<>(Map.of("error", "The record was modified concurrently, reload and retry"),
+                HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(UnsupportedExportFormatException.class)
+    public ResponseEntity<Map<String, String>> handleUnsupportedExportFormat(
+            UnsupportedExportFormatException ex
+    ) {
+        return new ResponseEntity<>(Map.of("format", ex.getMessage()), HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(BulkSizeLimitException.class)
+    public ResponseEntity<Map<String, String>> handleBulkSizeLimit(
+            BulkSizeLimitException ex
+    ) {
+        return new ResponseEntity<>(Map.of("items", ex.getMessage()), HttpStatus.BAD_REQUEST);
+    }
 }
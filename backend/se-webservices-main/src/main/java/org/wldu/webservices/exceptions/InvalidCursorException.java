@@ -0,0 +1,8 @@
+package org.wldu.webservices.exceptions;
+
+public class InvalidCursorException extends RuntimeException {
+
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
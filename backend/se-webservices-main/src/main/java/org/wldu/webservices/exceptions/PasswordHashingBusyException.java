@@ -0,0 +1,9 @@
+package org.wldu.webservices.exceptions;
+
+// The password hashing executor is saturated; clients should retry shortly
+public class PasswordHashingBusyException extends RuntimeException {
+
+    public PasswordHashingBusyException() {
+        super("Too many concurrent sign-ins, please retry shortly");
+    }
+}
@@ -0,0 +1,9 @@
+package org.wldu.webservices.exceptions;
+
+// The search index is still being built at startup; an empty result would look like "no matches"
+public class SearchIndexNotReadyException extends RuntimeException {
+
+    public SearchIndexNotReadyException() {
+        super("Search index is still being built, please retry shortly");
+    }
+}
@@ -0,0 +1,9 @@
+package org.wldu.webservices.exceptions;
+
+// Concurrent modification or a status transition the task's current state does not allow
+public class TaskConflictException extends RuntimeException {
+
+    public TaskConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package org.wldu.webservices.exceptions;
+
+public class UnsupportedExportFormatException extends RuntimeException {
+
+    public UnsupportedExportFormatException(String format) {
+        super("Unsupported export format: " + format);
+    }
+}
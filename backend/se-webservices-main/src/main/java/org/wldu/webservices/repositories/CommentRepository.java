@@ -1,11 +1,38 @@
 package org.wldu.webservices.repositories;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.wldu.webservices.dtoFiles.CommentResponse;
 import org.wldu.webservices.enities.Comment;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
 
-    List<Comment> findByTaskIdOrderByCreatedAtDesc(Long taskId);
+    // 🔹 READ MODEL: author username joined in, no entity or EAGER user loads
+    String COMMENT_RESPONSE = "select new org.wldu.webservices.dtoFiles.CommentResponse("
+            + "c.id, c.content, u.username, c.createdAt) "
+            + "from Comment c left join c.user u ";
+
+    // explicit FK filter so idx_comments_task_created serves it (the derived form filters on a joined tasks.id)
+    @Query("select c from Comment c where c.task.id = :taskId order by c.createdAt desc")
+    List<Comment> findByTaskIdOrderByCreatedAtDesc(@Param("taskId") Long taskId);
+
+    @Query(COMMENT_RESPONSE + "where c.task.id = :taskId order by c.createdAt desc, c.id desc")
+    List<CommentResponse> findResponsesByTaskId(@Param("taskId") Long taskId);
+
+    @Query(COMMENT_RESPONSE + "where c.task.id = :taskId order by c.createdAt desc, c.id desc")
+    List<CommentResponse> findFirstResponsePage(@Param("taskId") Long taskId, Limit limit);
+
+    // keyset on (created_at, id) descending; the plain <= bound gives the index a range to scan
+    @Query(COMMENT_RESPONSE + "where c.task.id = :taskId and c.createdAt <= :createdAt "
+            + "and (c.createdAt < :createdAt or c.id < :id) "
+            + "order by c.createdAt desc, c.id desc")
+    List<CommentResponse> findResponsePageBefore(@Param("taskId") Long taskId,
+                                                 @Param("createdAt") LocalDateTime createdAt,
+                                                 @Param("id") Long id,
+                                                 Limit limit);
 }
@@ -1,11 +1,35 @@
 package org.wldu.webservices.repositories;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.wldu.webservices.dtoFiles.NotificationResponse;
 import org.wldu.webservices.enities.Notification;
 
 import java.util.List;
 
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
 
-    List<Notification> findByUserIdOrderByCreatedAtDesc(Long userId);
+    // explicit FK filter so idx_notifications_user_created serves it (the derived form filters on a joined user12.id)
+    @Query("select n from Notification n where n.user.id = :userId order by n.createdAt desc")
+    List<Notification> findByUserIdOrderByCreatedAtDesc(@Param("userId") Long userId);
+
+    // stream reconnect: everything after the client's Last-Event-ID, oldest first
+    List<Notification> findByUserIdAndIdGreaterThanOrderByIdAsc(Long userId, Long afterId, Limit limit);
+
+    // inbox page, newest first, keyset on id
+    @Query("select new org.wldu.webservices.dtoFiles.NotificationResponse(n.id, n.message, n.seen, n.createdAt) " +
+            "from Notification n where n.user.id = :userId and n.id < :beforeId order by n.id desc")
+    List<NotificationResponse> findInboxPage(@Param("userId") Long userId,
+                                             @Param("beforeId") Long beforeId,
+                                             Limit limit);
+
+    long countByUserIdAndSeenFalse(Long userId);
+
+    @Modifying
+    @Query("update Notification n set n.seen = true " +
+            "where n.user.id = :userId and n.seen = false and n.id <= :upToId")
+    int markSeenUpTo(@Param("userId") Long userId, @Param("upToId") Long upToId);
 }
@@ -0,0 +1,12 @@
+package org.wldu.webservices.repositories;
+
+import org.wldu.webservices.dtoFiles.TaskFilter;
+import org.wldu.webservices.dtoFiles.TaskResponse;
+
+import java.util.List;
+
+public interface TaskQueryRepository {
+
+    // one keyset page of TaskResponse rows matching every non-null field of the filter
+    List<TaskResponse> findResponsesMatching(TaskFilter filter, long afterId, int limit);
+}
@@ -0,0 +1,80 @@
+package org.wldu.webservices.repositories;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.wldu.webservices.auths.User;
+import org.wldu.webservices.dtoFiles.TaskFilter;
+import org.wldu.webservices.dtoFiles.TaskResponse;
+import org.wldu.webservices.enities.Category;
+import org.wldu.webservices.enities.Task;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds a single parameterized query from whichever filters are present.
+ * Predicates go on the tasks foreign-key columns (not the joined tables) so
+ * the composite indexes declared on {@link Task} can drive the lookup.
+ */
+class TaskQueryRepositoryImpl implements TaskQueryRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<TaskResponse> findResponsesMatching(TaskFilter filter, long afterId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TaskResponse> query = cb.createQuery(TaskResponse.class);
+
+        Root<Task> task = query.from(Task.class);
+        Join<Task, User> user = task.join("assignedUser", JoinType.LEFT);
+        Join<Task, Category> category = task.join("category", JoinType.LEFT);
+
+        query.select(cb.construct(TaskResponse.class,
+                task.get("id"),
+                task.get("title"),
+                task.get("description"),
+                task.get("status"),
+                user.get("username"),
+                category.get("name"),
+                task.get("dueDate"),
+                task.get("version"),
+                task.get("commentCount"),
+                task.get("lastCommentAt"),
+                task.get("lastStatusChangeAt")));
+
+        List<Predicate> where = new ArrayList<>();
+        if (filter.getStatus() != null) {
+            where.add(cb.equal(task.get("status"), filter.getStatus()));
+        }
+        if (filter.getCategoryId() != null) {
+            where.add(cb.equal(task.get("category").get("id"), filter.getCategoryId()));
+        }
+        if (filter.getAssigneeId() != null) {
+            where.add(cb.equal(task.get("assignedUser").get("id"), filter.getAssigneeId()));
+        }
+        if (filter.getDueFrom() != null) {
+            where.add(cb.greaterThanOrEqualTo(task.get("dueDate"), filter.getDueFrom()));
+        }
+        if (filter.getDueTo() != null) {
+            where.add(cb.lessThanOrEqualTo(task.get("dueDate"), filter.getDueTo()));
+        }
+        // first page has no lower bound, so the filter columns alone pick the index
+        if (afterId > 0) {
+            where.add(cb.greaterThan(task.get("id"), afterId));
+        }
+
+        query.where(where.toArray(Predicate[]::new));
+        query.orderBy(cb.asc(task.get("id")));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
@@ -1,15 +1,173 @@
 package org.wldu.webservices.repositories;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.wldu.webservices.dtoFiles.DueTaskRow;
+import org.wldu.webservices.dtoFiles.TaskResponse;
+import org.wldu.webservices.dtoFiles.TaskStatsRow;
+import org.wldu.webservices.dtoFiles.TaskStatusView;
+import org.wldu.webservices.dtoFiles.TaskText;
 import org.wldu.webservices.enities.Task;
+import org.wldu.webservices.enities.TaskStatus;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface TaskRepository extends JpaRepository<Task, Long> {
+public interface TaskRepository extends JpaRepository<Task, Long>, TaskQueryRepository {
 
-    List<Task> findByAssignedUserId(Long userId);
+    // 🔹 READ MODEL: TaskResponse rows built in one joined select, no entity hydration
+    String TASK_RESPONSE = "select new org.wldu.webservices.dtoFiles.TaskResponse("
+            + "t.id, t.title, t.description, t.status, u.username, c.name, t.dueDate, t.version, "
+            + "t.commentCount, t.lastCommentAt, t.lastStatusChangeAt) "
+            + "from Task t left join t.assignedUser u left join t.category c ";
+
+    // explicit FK filter: the derived form joins user12 and filters on the joined id, which no index on tasks can serve
+    @Query("select t from Task t where t.assignedUser.id = :userId")
+    List<Task> findByAssignedUserId(@Param("userId") Long userId);
+
+    // 🔹 STATUS TRANSITIONS: read what the check needs, then one conditional UPDATE
+    @Query("select new org.wldu.webservices.dtoFiles.TaskStatusView("
+            + "t.id, t.title, t.status, t.version, u.id, u.username, c.id) "
+            + "from Task t left join t.assignedUser u left join t.category c where t.id = :id")
+    Optional<TaskStatusView> findStatusView(@Param("id") Long id);
+
+    @Modifying
+    @Query("update Task t set t.status = :to, t.version = t.version + 1, t.lastStatusChangeAt = :at "
+            + "where t.id = :id and t.version = :version and t.status = :from")
+    int transitionStatus(@Param("id") Long id,
+                         @Param("version") long version,
+                         @Param("from") TaskStatus from,
+                         @Param("to") TaskStatus to,
+                         @Param("at") LocalDateTime at);
+
+    // 🔹 ACTIVITY SUMMARY: increments in place, the version is left alone so comments never cause 409s
+    @Modifying
+    @Query("update Task t set t.commentCount = t.commentCount + 1, t.lastCommentAt = :at where t.id = :id")
+    int recordComment(@Param("id") Long id, @Param("at") LocalDateTime at);
+
+    @Modifying
+    @Query("update Task t set t.lastStatusChangeAt = :at where t.id in :ids")
+    int recordStatusChanges(@Param("ids") Collection<Long> ids, @Param("at") LocalDateTime at);
+
+    // row locks on one reconcile window; taken before reconcileCommentActivity in the same transaction
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t.id from Task t where t.id > :fromId and t.id <= :toId order by t.id")
+    List<Long> lockWindow(@Param("fromId") long fromId, @Param("toId") long toId);
+
+    // recomputes the comment-derived columns from comments for one id window, touching only drifted rows
+    @Modifying
+    @Query("update Task t set "
+            + "t.commentCount = (select count(c) from Comment c where c.task = t), "
+            + "t.lastCommentAt = (select max(c.createdAt) from Comment c where c.task = t) "
+            + "where t.id > :fromId and t.id <= :toId and ("
+            + "t.commentCount <> (select count(c) from Comment c where c.task = t) "
+            + "or coalesce(t.lastCommentAt, :never) <> "
+            + "coalesce((select max(c.createdAt) from Comment c where c.task = t), :never))")
+    int reconcileCommentActivity(@Param("fromId") long fromId,
+                                 @Param("toId") long toId,
+                                 @Param("never") LocalDateTime never);
+
+    // 🔹 DUE-DATE SWEEP: keyset over (due_date, id) inside one (status, notice stage) index range
+    @Query("select new org.wldu.webservices.dtoFiles.DueTaskRow(t.id, t.title, t.dueDate, u.id) "
+            + "from Task t left join t.assignedUser u "
+            + "where t.status = :status and t.dueNoticeStage = :stage "
+            + "and t.dueDate >= :from and t.dueDate < :to "
+            + "and (t.dueDate > :afterDue or (t.dueDate = :afterDue and t.id > :afterId)) "
+            + "order by t.dueDate, t.id")
+    List<DueTaskRow> findDueChunk(@Param("status") TaskStatus status,
+                                  @Param("stage") int stage,
+                                  @Param("from") LocalDate from,
+                                  @Param("to") LocalDate to,
+                                  @Param("afterDue") LocalDate afterDue,
+                                  @Param("afterId") long afterId,
+                                  Limit limit);
+
+    @Modifying
+    @Query("update Task t set t.dueNoticeStage = :stage where t.id in :ids and t.dueNoticeStage < :stage")
+    int advanceDueNotice(@Param("ids") Collection<Long> ids, @Param("stage") int stage);
+
+    @Modifying
+    @Query("update Task t set t.dueNoticeStage = 0 where t.id = :id")
+    int resetDueNotice(@Param("id") Long id);
+
+    // 🔹 DASHBOARD: seeds and checks TaskStats
+    @Query("select new org.wldu.webservices.dtoFiles.TaskStatsRow("
+            + "t.status, c.id, c.name, u.id, u.username, count(t)) "
+            + "from Task t left join t.category c left join t.assignedUser u "
+            + "group by t.status, c.id, c.name, u.id, u.username")
+    List<TaskStatsRow> countByStatusCategoryAndAssignee();
+
+    @Query("select max(t.id) from Task t")
+    Long findMaxId();
+
+    // bulk mutations: the chunk's tasks with assignee and category in one select
+    @Query("select t from Task t left join fetch t.assignedUser left join fetch t.category where t.id in :ids")
+    List<Task> findWithReferencesByIdIn(@Param("ids") Collection<Long> ids);
 
     List<Task> findByAssignedUserIsNull(); //
-    List<Task> findByCategoryId(Long categoryId);
+    @Query("select t from Task t where t.category.id = :categoryId")
+    List<Task> findByCategoryId(@Param("categoryId") Long categoryId);
 // 🔹 UNASSIGNED TASKS
+
+    @Query(TASK_RESPONSE + "order by t.id")
+    List<TaskResponse> findAllResponses();
+
+    @Query(TASK_RESPONSE + "where t.assignedUser is null order by t.id")
+    List<TaskResponse> findUnassignedResponses();
+
+    @Query(TASK_RESPONSE + "where u.username = :username order by t.id")
+    List<TaskResponse> findResponsesByAssignedUsername(@Param("username") String username);
+
+    @Query(TASK_RESPONSE + "where c.id = :categoryId order by t.id")
+    List<TaskResponse> findResponsesByCategoryId(@Param("categoryId") Long categoryId);
+
+    @Query(TASK_RESPONSE + "where t.id in :ids")
+    List<TaskResponse> findResponsesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // 🔹 KEYSET PAGES (stable order on id, fetch limit + 1 to detect "has more")
+    @Query(TASK_RESPONSE + "where t.id > :afterId order by t.id")
+    List<TaskResponse> findResponsesAfter(@Param("afterId") Long afterId, Limit limit);
+
+    @Query(TASK_RESPONSE + "where t.assignedUser is null and t.id > :afterId order by t.id")
+    List<TaskResponse> findUnassignedResponsesAfter(@Param("afterId") Long afterId, Limit limit);
+
+    @Query(TASK_RESPONSE + "where u.username = :username and t.id > :afterId order by t.id")
+    List<TaskResponse> findResponsesByAssignedUsernameAfter(@Param("username") String username,
+                                                            @Param("afterId") Long afterId,
+                                                            Limit limit);
+
+    @Query(TASK_RESPONSE + "where c.id = :categoryId and t.id > :afterId order by t.id")
+    List<TaskResponse> findResponsesByCategoryIdAfter(@Param("categoryId") Long categoryId,
+                                                      @Param("afterId") Long afterId,
+                                                      Limit limit);
+
+    // 🔹 EXPORT: cursor-backed stream, must be consumed inside a (read-only) transaction
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query(TASK_RESPONSE + "order by t.id")
+    Stream<TaskResponse> streamAllResponses();
+
+    // 🔹 SEARCH INDEX FEED
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new org.wldu.webservices.dtoFiles.TaskText(t.id, t.title, t.description) "
+            + "from Task t order by t.id")
+    Stream<TaskText> streamTaskText();
 }
@@ -1,12 +1,16 @@
 package org.wldu.webservices.services.contracts;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.wldu.webservices.auths.User;
 import org.wldu.webservices.auths.UserRepository;
 import org.wldu.webservices.dtoFiles.CommentResponse;
+import org.wldu.webservices.dtoFiles.CursorPage;
+import org.wldu.webservices.dtoFiles.TaskStatusView;
 import org.wldu.webservices.enities.Comment;
-import org.wldu.webservices.enities.Task;
 import org.wldu.webservices.repositories.CommentRepository;
 import org.wldu.webservices.repositories.TaskRepository;
 
@@ -14,40 +18,50 @@ import java.util.List;
 
 @Service
 @RequiredArgsConstructor
+@Timed(value = "service.method", description = "Service method latency by class and method")
 public class CommentService {
 
     private final CommentRepository commentRepository;
     private final TaskRepository taskRepository;
     private final UserRepository userRepository;
+    private final ListVersions listVersions;
 
+    @Transactional
     public void addComment(Long taskId, String content, String username) {
 
-        Task task = taskRepository.findById(taskId)
+        // projection only: existence check plus the list scopes showing the comment count
+        TaskStatusView task = taskRepository.findStatusView(taskId)
                 .orElseThrow(() -> new RuntimeException("Task not found"));
 
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
         Comment comment = new Comment();
-        comment.setTask(task);
+        comment.setTask(taskRepository.getReferenceById(taskId));
         comment.setUser(user);
         comment.setContent(content);
 
         commentRepository.save(comment);
+        taskRepository.recordComment(taskId, comment.getCreatedAt());
+        listVersions.bumpAfterCommit(ListVersions
+                .taskScopes(task.assignedToUsername(), task.categoryId())
+                .toArray(String[]::new));
     }
 
+    @Transactional(readOnly = true)
     public List<CommentResponse> getComments(Long taskId) {
+        return commentRepository.findResponsesByTaskId(taskId);
+    }
+
+    // newest first; the cursor carries the last row's (createdAt, id)
+    @Transactional(readOnly = true)
+    public CursorPage<CommentResponse> getCommentsPage(Long taskId, String cursor, Integer limit) {
+        int size = CursorCodec.pageSize(limit);
+        CursorCodec.Position after = CursorCodec.decodePosition(cursor);
 
-        return commentRepository.findByTaskIdOrderByCreatedAtDesc(taskId)
-                .stream()
-                .map(c -> {
-                    CommentResponse r = new CommentResponse();
-                    r.setId(c.getId());
-                    r.setContent(c.getContent());
-                    r.setUsername(c.getUser().getUsername());
-                    r.setCreatedAt(c.getCreatedAt());
-                    return r;
-                })
-                .toList();
+        List<CommentResponse> rows = after == null
+                ? commentRepository.findFirstResponsePage(taskId, Limit.of(size + 1))
+                : commentRepository.findResponsePageBefore(taskId, after.createdAt(), after.id(), Limit.of(size + 1));
+        return CursorPage.of(rows, size, row -> CursorCodec.encodePosition(row.getCreatedAt(), row.getId()));
     }
 }
@@ -0,0 +1,81 @@
+package org.wldu.webservices.services.contracts;
+
+import org.wldu.webservices.exceptions.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Encodes the last seen id of a keyset page into an opaque continuation token.
+ * The "v1:" prefix lets the token format change without breaking old clients
+ * silently; unknown tokens are rejected as a bad request.
+ */
+public final class CursorCodec {
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
+
+    private static final String PREFIX = "v1:";
+    private static final char POSITION_SEPARATOR = '|';
+
+    private CursorCodec() {
+    }
+
+    public static String encodeId(long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((PREFIX + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    // null / blank cursor means "start from the beginning"
+    public static long decodeId(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!raw.startsWith(PREFIX)) {
+                throw new InvalidCursorException("Invalid cursor");
+            }
+            return Long.parseLong(raw.substring(PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Invalid cursor");
+        }
+    }
+
+    // (timestamp, id) position for lists ordered by creation time, id breaks ties
+    public record Position(LocalDateTime createdAt, long id) {
+    }
+
+    public static String encodePosition(LocalDateTime createdAt, long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((PREFIX + createdAt + POSITION_SEPARATOR + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    // null / blank cursor means "start from the newest"
+    public static Position decodePosition(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(POSITION_SEPARATOR);
+            if (!raw.startsWith(PREFIX) || separator < 0) {
+                throw new InvalidCursorException("Invalid cursor");
+            }
+            return new Position(
+                    LocalDateTime.parse(raw.substring(PREFIX.length(), separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidCursorException("Invalid cursor");
+        }
+    }
+
+    public static int pageSize(Integer requested) {
+        if (requested == null || requested <= 0) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(requested, MAX_PAGE_SIZE);
+    }
+}
@@ -0,0 +1,190 @@
+package org.wldu.webservices.services.contracts;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.wldu.webservices.dtoFiles.DueTaskRow;
+import org.wldu.webservices.dtoFiles.NotificationDraft;
+import org.wldu.webservices.enities.TaskStatus;
+import org.wldu.webservices.repositories.TaskRepository;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Notifies assignees when open tasks are due soon and again once they are
+ * overdue. Each task remembers the last notice sent ({@code due_notice_stage}),
+ * so a sweep only reads tasks that still need one, as index range scans on
+ * (status, due_notice_stage, due_date).
+ * <p>
+ * Work is done in small keyset chunks, one short transaction each, with a pause
+ * in between, so a sweep holds a single pooled connection for milliseconds at a time.
+ * A chunk whose notices fail is retried one task per transaction; a task that
+ * still fails keeps its stage (the next sweep tries it again) and the keyset
+ * moves past it, so it never blocks the tasks behind it.
+ */
+@Slf4j
+@Component
+public class DueDateSweeper {
+
+    static final int NOTICE_NONE = 0;
+    static final int NOTICE_DUE_SOON = 1;
+    static final int NOTICE_OVERDUE = 2;
+
+    private static final List<TaskStatus> OPEN_STATUSES = List.of(TaskStatus.PENDING, TaskStatus.IN_PROGRESS);
+    private static final LocalDate BEGINNING = LocalDate.of(1970, 1, 1);
+    private static final int TITLE_IN_MESSAGE = 120;
+
+    private final TaskRepository taskRepository;
+    private final NotificationService notificationService;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    private final int chunkSize;
+    private final long pauseMillis;
+    private final int dueSoonDays;
+
+    private final Timer sweepTimer;
+    private final Counter rowsScanned;
+    private final AtomicLong lastRowsPerSecond = new AtomicLong();
+
+    public DueDateSweeper(TaskRepository taskRepository,
+                          NotificationService notificationService,
+                          PlatformTransactionManager transactionManager,
+                          MeterRegistry registry,
+                          @Value("${tasks.due-sweep.chunk-size:200}") int chunkSize,
+                          @Value("${tasks.due-sweep.pause-ms:50}") long pauseMillis,
+                          @Value("${tasks.due-sweep.due-soon-days:1}") int dueSoonDays) {
+        this.taskRepository = taskRepository;
+        this.notificationService = notificationService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clock = Clock.systemDefaultZone();
+        this.chunkSize = chunkSize;
+        this.pauseMillis = pauseMillis;
+        this.dueSoonDays = dueSoonDays;
+
+        this.sweepTimer = Timer.builder("tasks.due_sweep.duration")
+                .description("Wall time of one due-date sweep, pauses included")
+                .register(registry);
+        this.rowsScanned = Counter.builder("tasks.due_sweep.rows")
+                .description("Tasks read by the due-date sweeper")
+                .register(registry);
+        Gauge.builder("tasks.due_sweep.rows_per_second", lastRowsPerSecond, AtomicLong::get)
+                .description("Scan rate of the last due-date sweep")
+                .register(registry);
+    }
+
+    @Scheduled(fixedDelayString = "${tasks.due-sweep.interval-ms:900000}",
+            initialDelayString = "${tasks.due-sweep.initial-delay-ms:60000}")
+    public void sweep() {
+        long started = System.nanoTime();
+        LocalDate today = LocalDate.now(clock);
+        long rows = 0;
+
+        for (TaskStatus status : OPEN_STATUSES) {
+            // overdue first: those are the notices that matter most if a sweep is cut short
+            rows += sweepRange(status, NOTICE_NONE, BEGINNING, today, NOTICE_OVERDUE);
+            rows += sweepRange(status, NOTICE_DUE_SOON, BEGINNING, today, NOTICE_OVERDUE);
+            rows += sweepRange(status, NOTICE_NONE, today, today.plusDays(dueSoonDays + 1L), NOTICE_DUE_SOON);
+        }
+
+        long elapsedNanos = System.nanoTime() - started;
+        sweepTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        rowsScanned.increment(rows);
+        lastRowsPerSecond.set(rows * 1_000_000_000L / Math.max(elapsedNanos, 1));
+        if (rows > 0) {
+            log.info("Due-date sweep notified on {} tasks in {} ms", rows, elapsedNanos / 1_000_000);
+        }
+    }
+
+    // walks tasks in [from, to) at fromStage and moves each to toStage, notifying assignees
+    private long sweepRange(TaskStatus status, int fromStage, LocalDate from, LocalDate to, int toStage) {
+        LocalDate afterDue = from.minusDays(1);
+        long afterId = 0;
+        long rows = 0;
+
+        while (true) {
+            LocalDate chunkAfterDue = afterDue;
+            long chunkAfterId = afterId;
+            List<DueTaskRow> chunk = transactionTemplate.execute(tx -> taskRepository.findDueChunk(
+                    status, fromStage, from, to, chunkAfterDue, chunkAfterId, Limit.of(chunkSize)));
+            if (chunk == null || chunk.isEmpty()) {
+                return rows;
+            }
+            notifyChunk(chunk, toStage);
+
+            rows += chunk.size();
+            DueTaskRow last = chunk.getLast();
+            afterDue = last.dueDate();
+            afterId = last.id();
+            if (chunk.size() < chunkSize || !pause()) {
+                return rows;
+            }
+        }
+    }
+
+    private void notifyChunk(List<DueTaskRow> chunk, int toStage) {
+        try {
+            transactionTemplate.executeWithoutResult(tx -> notifyAndAdvance(chunk, toStage));
+        } catch (RuntimeException chunkFailure) {
+            log.warn("Due-date notices for {} tasks failed, retrying one by one", chunk.size(), chunkFailure);
+            for (DueTaskRow task : chunk) {
+                try {
+                    transactionTemplate.executeWithoutResult(tx -> notifyAndAdvance(List.of(task), toStage));
+                } catch (RuntimeException taskFailure) {
+                    log.warn("Due-date notice for task {} failed, skipped until the next sweep", task.id(), taskFailure);
+                }
+            }
+        }
+    }
+
+    private void notifyAndAdvance(List<DueTaskRow> due, int toStage) {
+        notificationService.createAll(drafts(due, toStage));
+        taskRepository.advanceDueNotice(due.stream().map(DueTaskRow::id).toList(), toStage);
+    }
+
+    // unassigned tasks are still advanced, there is just nobody to tell
+    private static List<NotificationDraft> drafts(List<DueTaskRow> due, int stage) {
+        List<NotificationDraft> drafts = new ArrayList<>(due.size());
+        for (DueTaskRow task : due) {
+            if (task.assigneeId() == null) {
+                continue;
+            }
+            String title = shorten(task.title());
+            String message = stage == NOTICE_OVERDUE
+                    ? "Task '" + title + "' is overdue (was due " + task.dueDate() + ")"
+                    : "Task '" + title + "' is due on " + task.dueDate();
+            drafts.add(new NotificationDraft(task.assigneeId(), message));
+        }
+        return drafts;
+    }
+
+    // titles may be 255 chars; keep the whole notice inside notifications.message
+    private static String shorten(String title) {
+        if (title == null || title.length() <= TITLE_IN_MESSAGE) {
+            return title;
+        }
+        return title.substring(0, TITLE_IN_MESSAGE - 1) + "…";
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(pauseMillis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package org.wldu.webservices.services.contracts;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.wldu.webservices.enities.Task;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cheap version counters for cached list endpoints. Write paths bump the
+ * scopes they affect (after commit); read endpoints turn the current value
+ * into a strong ETag so an unchanged list can be answered with 304 without
+ * touching the database. The boot timestamp is part of the tag, so a restart
+ * invalidates every ETag handed out before it. A scope bumped within the
+ * last primary-after-write-ms counts as recently changed: its body may not be
+ * on the read replica yet.
+ */
+@Component
+public class ListVersions {
+
+    public static final String ALL_TASKS = "tasks";
+    public static final String CATEGORIES = "categories";
+    // part of every tasks* ETag: bump it for changes no single scope can name
+    // (an assignee rename, a bulk repair of comment counts)
+    public static final String EVERY_TASK_LIST = "tasks:*";
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final ConcurrentHashMap<String, AtomicLong> counters = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Long> changedAt = new ConcurrentHashMap<>();
+    private final long recentNanos;
+
+    public ListVersions(@Value("${datasource.routing.primary-after-write-ms:5000}") long recentMillis) {
+        this.recentNanos = TimeUnit.MILLISECONDS.toNanos(recentMillis);
+    }
+
+    public static String userTasks(String username) {
+        return "tasks:user:" + username;
+    }
+
+    public static String categoryTasks(Long categoryId) {
+        return "tasks:category:" + categoryId;
+    }
+
+    // every list scope that can show this task
+    public static List<String> taskScopes(Task task) {
+        return taskScopes(
+                task.getAssignedUser() != null ? task.getAssignedUser().getUsername() : null,
+                task.getCategory() != null ? task.getCategory().getId() : null);
+    }
+
+    public static List<String> taskScopes(String assigneeUsername, Long categoryId) {
+        List<String> scopes = new ArrayList<>(3);
+        scopes.add(ALL_TASKS);
+        if (assigneeUsername != null) {
+            scopes.add(userTasks(assigneeUsername));
+        }
+        if (categoryId != null) {
+            scopes.add(categoryTasks(categoryId));
+        }
+        return scopes;
+    }
+
+    public static String userNotifications(Long userId) {
+        return "notifications:user:" + userId;
+    }
+
+    public String etag(String scope) {
+        String version = Long.toString(version(scope));
+        if (isTaskScope(scope)) {
+            version += "." + version(EVERY_TASK_LIST);
+        }
+        // the scope is part of the tag so two users never share one on the same URL
+        return "\"" + epoch + "." + Integer.toHexString(scope.hashCode()) + "." + version + "\"";
+    }
+
+    private long version(String scope) {
+        AtomicLong counter = counters.get(scope);
+        return counter != null ? counter.get() : 0L;
+    }
+
+    private static boolean isTaskScope(String scope) {
+        return scope.equals(ALL_TASKS) || scope.startsWith(ALL_TASKS + ":");
+    }
+
+    public void bump(String scope) {
+        counters.computeIfAbsent(scope, s -> new AtomicLong()).incrementAndGet();
+        changedAt.put(scope, System.nanoTime());
+    }
+
+    public boolean changedRecently(String scope) {
+        return isRecent(changedAt.get(scope))
+                || (isTaskScope(scope) && isRecent(changedAt.get(EVERY_TASK_LIST)));
+    }
+
+    private boolean isRecent(Long at) {
+        return at != null && System.nanoTime() - at <= recentNanos;
+    }
+
+    // bumps after the surrounding transaction commits, null scopes are ignored
+    public void bumpAfterCommit(String... scopes) {
+        AfterCommit.run(() -> {
+            for (String scope : scopes) {
+                if (scope != null) {
+                    bump(scope);
+                }
+            }
+        });
+    }
+}
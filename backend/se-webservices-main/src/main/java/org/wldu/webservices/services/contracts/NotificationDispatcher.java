@@ -0,0 +1,125 @@
+package org.wldu.webservices.services.contracts;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.wldu.webservices.auths.AdminDirectory;
+import org.wldu.webservices.auths.UserRepository;
+import org.wldu.webservices.dtoFiles.NotificationDraft;
+import org.wldu.webservices.enities.OutboxEvent;
+import org.wldu.webservices.enities.OutboxEventType;
+import org.wldu.webservices.repositories.OutboxEventRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Drains the notification outbox in the background. Each batch is locked,
+ * turned into notification rows and deleted in one transaction, so an event
+ * is only gone once its notifications are committed (at-least-once). When a
+ * batch fails its events are replayed one per transaction, so only the event
+ * that actually fails is charged an attempt and the rest are delivered.
+ */
+@Slf4j
+@Component
+public class NotificationDispatcher {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final UserRepository userRepository;
+    private final AdminDirectory adminDirectory;
+    private final NotificationService notificationService;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxAttempts;
+
+    public NotificationDispatcher(OutboxEventRepository outboxEventRepository,
+                                  UserRepository userRepository,
+                                  AdminDirectory adminDirectory,
+                                  NotificationService notificationService,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${notifications.outbox.batch-size:200}") int batchSize,
+                                  @Value("${notifications.outbox.max-attempts:10}") int maxAttempts) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.userRepository = userRepository;
+        this.adminDirectory = adminDirectory;
+        this.notificationService = notificationService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+    }
+
+    @Scheduled(fixedDelayString = "${notifications.outbox.poll-ms:500}")
+    public void drain() {
+        int dispatched;
+        do {
+            dispatched = dispatchBatch();
+        } while (dispatched == batchSize);
+    }
+
+    int dispatchBatch() {
+        List<Long> claimed = new ArrayList<>();
+        try {
+            Integer dispatched = transactionTemplate.execute(status -> {
+                List<OutboxEvent> events = outboxEventRepository.lockNextBatch(maxAttempts, Limit.of(batchSize));
+                events.forEach(event -> claimed.add(event.getId()));
+                deliver(events);
+                return events.size();
+            });
+            return dispatched != null ? dispatched : 0;
+        } catch (RuntimeException batchFailure) {
+            log.warn("Notification outbox batch of {} failed, retrying its events one by one",
+                    claimed.size(), batchFailure);
+            claimed.forEach(this::dispatchOne);
+            return 0; // the rest waits for the next poll instead of spinning on a poisoned batch
+        }
+    }
+
+    private void dispatchOne(Long eventId) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> outboxEventRepository
+                    .lockOne(eventId, maxAttempts)
+                    .ifPresent(event -> deliver(List.of(event))));
+        } catch (RuntimeException eventFailure) {
+            log.warn("Notification outbox event {} failed, will retry", eventId, eventFailure);
+            transactionTemplate.executeWithoutResult(status ->
+                    outboxEventRepository.recordFailedAttempt(List.of(eventId)));
+        }
+    }
+
+    private void deliver(List<OutboxEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        notificationService.createAll(toDrafts(events));
+        outboxEventRepository.deleteAllByIdInBatch(events.stream().map(OutboxEvent::getId).toList());
+    }
+
+    // admin events fan out to every active admin; all rows go out in the caller's single batch insert.
+    // Recipients deleted since the event was written are skipped rather than failing the batch.
+    private List<NotificationDraft> toDrafts(List<OutboxEvent> events) {
+        List<Long> recipientIds = events.stream()
+                .filter(event -> event.getType() == OutboxEventType.USER_NOTIFICATION)
+                .map(OutboxEvent::getRecipientId)
+                .toList();
+        Set<Long> existing = recipientIds.isEmpty() ? Set.of() : userRepository.findExistingIds(recipientIds);
+
+        List<Long> admins = events.stream().anyMatch(event -> event.getType() == OutboxEventType.ADMIN_NOTIFICATION)
+                ? adminDirectory.adminIds()
+                : List.of();
+
+        List<NotificationDraft> drafts = new ArrayList<>(events.size());
+        for (OutboxEvent event : events) {
+            if (event.getType() == OutboxEventType.ADMIN_NOTIFICATION) {
+                admins.forEach(adminId -> drafts.add(new NotificationDraft(adminId, event.getMessage())));
+            } else if (existing.contains(event.getRecipientId())) {
+                drafts.add(new NotificationDraft(event.getRecipientId(), event.getMessage()));
+            }
+        }
+        return drafts;
+    }
+}
@@ -1,22 +1,37 @@
 package org.wldu.webservices.services.contracts;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.wldu.webservices.auths.User;
 import org.wldu.webservices.auths.UserRepository;
+import org.wldu.webservices.dtoFiles.CursorPage;
+import org.wldu.webservices.dtoFiles.NotificationDraft;
 import org.wldu.webservices.dtoFiles.NotificationResponse;
 import org.wldu.webservices.enities.Notification;
+import org.wldu.webservices.enities.OutboxEvent;
+import org.wldu.webservices.enities.OutboxEventType;
 import org.wldu.webservices.repositories.NotificationRepository;
+import org.wldu.webservices.repositories.OutboxEventRepository;
 
+import java.util.ArrayList;
 import java.util.List;
 
 @Service
 @RequiredArgsConstructor
+@Timed(value = "service.method", description = "Service method latency by class and method")
 public class NotificationService {
 
     private final NotificationRepository notificationRepository;
     private final UserRepository userRepository;
+    private final ListVersions listVersions;
+    private final NotificationStreams notificationStreams;
+    private final UnreadCounters unreadCounters;
+    private final OutboxEventRepository outboxEventRepository;
 
+    @Transactional(readOnly = true)
     public List<NotificationResponse> getUserNotificationsByUsername(String username) {
 
         User user = userRepository.findByUsername(username)
@@ -25,21 +40,112 @@ public class NotificationService {
         return notificationRepository
                 .findByUserIdOrderByCreatedAtDesc(user.getId())
                 .stream()
-                .map(notification -> {
-                    NotificationResponse res = new NotificationResponse();
-                    res.setId(notification.getId());
-                    res.setMessage(notification.getMessage());
-                    res.setSeen(notification.isSeen());
-                    res.setCreatedAt(notification.getCreatedAt());
-                    return res;
-                })
+                .map(this::toResponse)
                 .toList();
     }
 
+    // notifications created after lastEventId; one extra row tells the stream the gap was too large.
+    // Not read-only on purpose: a lagging replica would drop rows the live stream already skipped.
+    public List<NotificationResponse> getMissedNotifications(Long userId, long lastEventId, int replayLimit) {
+        return notificationRepository
+                .findByUserIdAndIdGreaterThanOrderByIdAsc(userId, lastEventId, Limit.of(replayLimit + 1))
+                .stream()
+                .map(this::toResponse)
+                .toList();
+    }
+
+    // ================= INBOX =================
+
+    @Transactional(readOnly = true)
+    public CursorPage<NotificationResponse> getInboxPage(Long userId, String cursor, Integer limit) {
+        int size = CursorCodec.pageSize(limit);
+        long before = cursor == null || cursor.isBlank() ? Long.MAX_VALUE : CursorCodec.decodeId(cursor);
+
+        List<NotificationResponse> rows = notificationRepository.findInboxPage(userId, before, Limit.of(size + 1));
+        return CursorPage.of(rows, size, row -> CursorCodec.encodeId(row.getId()));
+    }
+
+    // primary: the loaded count seeds a counter that is only adjusted by increments afterwards
+    public long getUnreadCount(Long userId) {
+        return unreadCounters.get(userId, () -> notificationRepository.countByUserIdAndSeenFalse(userId));
+    }
+
+    // one UPDATE for everything up to upToId (null = all); returns how many rows changed
+    @Transactional
+    public int markSeenUpTo(Long userId, Long upToId) {
+        int updated = notificationRepository.markSeenUpTo(userId, upToId != null ? upToId : Long.MAX_VALUE);
+        if (updated > 0) {
+            AfterCommit.run(() -> unreadCounters.decrement(userId, updated));
+            listVersions.bumpAfterCommit(ListVersions.userNotifications(userId));
+        }
+        return updated;
+    }
+
+    // ================= OUTBOX =================
+
+    // queued in the caller's transaction, delivered by NotificationDispatcher
+    public void enqueueForUser(Long userId, String message) {
+        enqueue(OutboxEventType.USER_NOTIFICATION, userId, message);
+    }
+
+    public void enqueueForAdmins(String message) {
+        enqueue(OutboxEventType.ADMIN_NOTIFICATION, null, message);
+    }
+
+    private void enqueue(OutboxEventType type, Long recipientId, String message) {
+        OutboxEvent event = new OutboxEvent();
+        event.setType(type);
+        event.setRecipientId(recipientId);
+        event.setMessage(message);
+        outboxEventRepository.save(event);
+    }
+
+    // ================= CREATE =================
+
     public void create(User user, String message) {
-        Notification notification = new Notification();
-        notification.setUser(user);
-        notification.setMessage(message);
-        notificationRepository.save(notification);
+        createAll(List.of(new NotificationDraft(user.getId(), message)));
+    }
+
+    // sequence ids + hibernate.jdbc.batch_size turn this into batched inserts; side effects move after commit
+    public void createAll(List<NotificationDraft> drafts) {
+        if (drafts.isEmpty()) {
+            return;
+        }
+        List<Notification> rows = new ArrayList<>(drafts.size());
+        for (NotificationDraft draft : drafts) {
+            Notification notification = new Notification();
+            notification.setUser(userRepository.getReferenceById(draft.userId()));
+            notification.setMessage(fitMessage(draft.message()));
+            rows.add(notification);
+        }
+        notificationRepository.saveAll(rows);
+
+        List<Long> recipients = drafts.stream().map(NotificationDraft::userId).toList();
+        List<NotificationResponse> pushed = rows.stream().map(this::toResponse).toList();
+        AfterCommit.run(() -> {
+            for (int i = 0; i < recipients.size(); i++) {
+                Long userId = recipients.get(i);
+                unreadCounters.increment(userId);
+                listVersions.bump(ListVersions.userNotifications(userId));
+                notificationStreams.publish(userId, pushed.get(i));
+            }
+        });
+    }
+
+    // outbox messages may be up to 1000 chars (long task titles); one oversized row must not fail the batch insert
+    static String fitMessage(String message) {
+        if (message == null || message.length() <= Notification.MESSAGE_LENGTH) {
+            return message;
+        }
+        return message.substring(0, Notification.MESSAGE_LENGTH - 1) + "…";
+    }
+
+    private NotificationResponse toResponse(Notification notification) {
+        NotificationResponse res = new NotificationResponse();
+        res.setId(notification.getId());
+        res.setMessage(notification.getMessage());
+        res.setSeen(notification.isSeen());
+        res.setCreatedAt(notification.getCreatedAt());
+        return res;
     }
 }
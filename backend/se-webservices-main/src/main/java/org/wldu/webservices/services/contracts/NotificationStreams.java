@@ -0,0 +1,236 @@
+package org.wldu.webservices.services.contracts;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.wldu.webservices.dtoFiles.NotificationResponse;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Per-user registry of open notification streams.
+ * <p>
+ * Connections use async servlet support, so an idle stream holds no thread.
+ * Each connection has a small bounded buffer drained by a virtual thread only
+ * while there is something to send; a client that falls behind far enough to
+ * fill it is disconnected and catches up on reconnect via {@code Last-Event-ID}.
+ */
+@Slf4j
+@Component
+public class NotificationStreams {
+
+    private static final String EVENT_NOTIFICATION = "notification";
+    private static final String EVENT_RESYNC = "resync";
+
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final ScheduledExecutorService heartbeats = Executors.newSingleThreadScheduledExecutor(
+            task -> Thread.ofPlatform().name("notification-heartbeat").daemon(true).unstarted(task));
+
+    private final long timeoutMillis;
+    private final int bufferSize;
+    private final Counter dropped;
+
+    public NotificationStreams(@Value("${notifications.stream.timeout-ms:1800000}") long timeoutMillis,
+                               @Value("${notifications.stream.buffer-size:32}") int bufferSize,
+                               @Value("${notifications.stream.heartbeat-seconds:25}") long heartbeatSeconds,
+                               MeterRegistry registry) {
+        this.timeoutMillis = timeoutMillis;
+        this.bufferSize = bufferSize;
+        this.dropped = Counter.builder("notifications.stream.dropped")
+                .description("Streams closed because the client could not keep up")
+                .register(registry);
+        Gauge.builder("notifications.stream.connections", connections, AtomicInteger::get)
+                .register(registry);
+        heartbeats.scheduleAtFixedRate(this::heartbeat, heartbeatSeconds, heartbeatSeconds, TimeUnit.SECONDS);
+    }
+
+    // ================= SUBSCRIBE =================
+
+    /**
+     * Opens a stream. {@code missed} are the notifications after the client's
+     * Last-Event-ID (oldest first); {@code truncated} means there were more than
+     * could be replayed and the client should reload its list instead.
+     */
+    public SseEmitter subscribe(Long userId, long lastEventId,
+                                Supplier<List<NotificationResponse>> missed,
+                                int replayLimit) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(userId, emitter, bufferSize, lastEventId);
+
+        emitter.onCompletion(() -> unregister(subscriber));
+        emitter.onTimeout(() -> unregister(subscriber));
+        emitter.onError(error -> unregister(subscriber));
+
+        // registered before the replay query so nothing committed in between is lost;
+        // live events stay buffered until the replay has been written
+        subscribers.computeIfAbsent(userId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        connections.incrementAndGet();
+
+        try {
+            if (lastEventId > 0) {
+                List<NotificationResponse> replay = missed.get();
+                if (replay.size() > replayLimit) {
+                    emitter.send(SseEmitter.event().name(EVENT_RESYNC).data(""));
+                } else {
+                    for (NotificationResponse notification : replay) {
+                        emitter.send(toEvent(notification));
+                        subscriber.lastSentId = notification.getId();
+                    }
+                }
+            } else {
+                emitter.send(SseEmitter.event().comment("connected"));
+            }
+        } catch (IOException e) {
+            subscriber.close();
+            return emitter;
+        }
+
+        subscriber.replaying = false;
+        schedule(subscriber);
+        return emitter;
+    }
+
+    // ================= PUBLISH =================
+
+    public void publish(Long userId, NotificationResponse notification) {
+        Set<Subscriber> open = subscribers.get(userId);
+        if (open == null) {
+            return;
+        }
+        for (Subscriber subscriber : open) {
+            offer(subscriber, notification);
+        }
+    }
+
+    public int openConnections() {
+        return connections.get();
+    }
+
+    private void heartbeat() {
+        for (Set<Subscriber> open : subscribers.values()) {
+            for (Subscriber subscriber : open) {
+                if (subscriber.buffer.isEmpty()) {
+                    offer(subscriber, Subscriber.HEARTBEAT);
+                }
+            }
+        }
+    }
+
+    private void offer(Subscriber subscriber, Object item) {
+        if (!subscriber.buffer.offer(item)) {
+            dropped.increment();
+            log.debug("Dropping slow notification stream for user {}", subscriber.userId);
+            subscriber.close();
+            return;
+        }
+        schedule(subscriber);
+    }
+
+    // at most one sender per connection; it exits as soon as the buffer is empty
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.replaying || subscriber.closed.get()) {
+            return;
+        }
+        if (subscriber.draining.compareAndSet(false, true)) {
+            senders.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            Object item;
+            while ((item = subscriber.buffer.poll()) != null) {
+                if (item == Subscriber.HEARTBEAT) {
+                    subscriber.emitter.send(SseEmitter.event().comment("heartbeat"));
+                } else if (item instanceof NotificationResponse notification
+                        && notification.getId() > subscriber.lastSentId) {
+                    subscriber.emitter.send(toEvent(notification));
+                    subscriber.lastSentId = notification.getId();
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            subscriber.close();
+            return;
+        } finally {
+            subscriber.draining.set(false);
+        }
+        // an offer may have landed between the last poll and releasing the flag
+        if (!subscriber.buffer.isEmpty()) {
+            schedule(subscriber);
+        }
+    }
+
+    private void unregister(Subscriber subscriber) {
+        if (subscriber.closed.compareAndSet(false, true)) {
+            connections.decrementAndGet();
+            subscribers.computeIfPresent(subscriber.userId, (id, open) -> {
+                open.remove(subscriber);
+                return open.isEmpty() ? null : open;
+            });
+        }
+    }
+
+    private static SseEmitter.SseEventBuilder toEvent(NotificationResponse notification) {
+        return SseEmitter.event()
+                .id(String.valueOf(notification.getId()))
+                .name(EVENT_NOTIFICATION)
+                .data(notification);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        heartbeats.shutdownNow();
+        subscribers.values().forEach(open -> open.forEach(Subscriber::close));
+        senders.shutdownNow();
+    }
+
+    // ================= CONNECTION =================
+
+    private final class Subscriber {
+        static final Object HEARTBEAT = new Object();
+
+        final Long userId;
+        final SseEmitter emitter;
+        final Queue<Object> buffer;
+        final AtomicBoolean draining = new AtomicBoolean();
+        final AtomicBoolean closed = new AtomicBoolean();
+        volatile boolean replaying = true;
+        volatile long lastSentId;
+
+        Subscriber(Long userId, SseEmitter emitter, int bufferSize, long lastSentId) {
+            this.userId = userId;
+            this.emitter = emitter;
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+            this.lastSentId = lastSentId;
+        }
+
+        void close() {
+            unregister(this);
+            try {
+                emitter.complete();
+            } catch (IllegalStateException ignored) {
+                // already completed by the container
+            }
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package org.wldu.webservices.services.contracts;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.wldu.webservices.repositories.TaskRepository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Repairs drift in the denormalized comment columns on tasks (comment_count,
+ * last_comment_at), e.g. after comments were deleted or edited directly in the
+ * database. Walks the table in id windows, one short transaction each, and
+ * only rewrites rows whose values disagree with the comments table.
+ * last_status_change_at has no source of truth to rebuild from and is left alone.
+ * <p>
+ * Each window's rows are locked before the recount. Under READ COMMITTED the
+ * UPDATE's subqueries see the snapshot its statement started with. Without the
+ * locks, a comment committed while the UPDATE waited on its row would be counted
+ * by recordComment and then overwritten with the older count. With them, such a
+ * comment either commits before the recount starts or increments after it.
+ */
+@Slf4j
+@Component
+public class TaskActivityReconciler {
+
+    private static final LocalDateTime NEVER = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final TaskRepository taskRepository;
+    private final ListVersions listVersions;
+    private final TransactionTemplate transactionTemplate;
+    private final int windowSize;
+
+    public TaskActivityReconciler(TaskRepository taskRepository,
+                                  ListVersions listVersions,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${tasks.activity.reconcile-window:5000}") int windowSize) {
+        this.taskRepository = taskRepository;
+        this.listVersions = listVersions;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.windowSize = windowSize;
+    }
+
+    @Scheduled(cron = "${tasks.activity.reconcile-cron:0 30 3 * * *}")
+    public void scheduledReconcile() {
+        reconcile();
+    }
+
+    // returns how many tasks were repaired
+    public int reconcile() {
+        Long maxId = taskRepository.findMaxId();
+        if (maxId == null) {
+            return 0;
+        }
+
+        int repaired = 0;
+        for (long from = 0; from < maxId; from += windowSize) {
+            long windowStart = from;
+            Integer fixed = transactionTemplate.execute(status -> {
+                taskRepository.lockWindow(windowStart, windowStart + windowSize);
+                return taskRepository.reconcileCommentActivity(windowStart, windowStart + windowSize, NEVER);
+            });
+            repaired += fixed != null ? fixed : 0;
+        }
+
+        if (repaired > 0) {
+            log.warn("Task activity reconciliation repaired {} tasks", repaired);
+            // repaired counts show in per-user and per-category lists too; the UPDATE doesn't say which
+            listVersions.bump(ListVersions.EVERY_TASK_LIST);
+        }
+        return repaired;
+    }
+}
@@ -0,0 +1,350 @@
+package org.wldu.webservices.services.contracts;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.wldu.webservices.auths.User;
+import org.wldu.webservices.auths.UserRepository;
+import org.wldu.webservices.dtoFiles.BulkItemResult;
+import org.wldu.webservices.dtoFiles.BulkResponse;
+import org.wldu.webservices.dtoFiles.TaskAssignRequest;
+import org.wldu.webservices.dtoFiles.TaskCreateRequest;
+import org.wldu.webservices.dtoFiles.TaskStatusChange;
+import org.wldu.webservices.enities.Category;
+import org.wldu.webservices.enities.Task;
+import org.wldu.webservices.enities.TaskStatus;
+import org.wldu.webservices.exceptions.BulkSizeLimitException;
+import org.wldu.webservices.repositories.CategoryRepository;
+import org.wldu.webservices.repositories.TaskRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Array versions of the task write endpoints for importers.
+ * <p>
+ * Items are processed in chunks, one transaction per chunk. Each chunk loads
+ * what it references with one query per table and writes through Hibernate's
+ * JDBC batching. Items that fail validation are reported and skipped. If a
+ * chunk fails at the database, its items are replayed one per transaction, so
+ * only the offending item is reported as failed. Its error names the kind of
+ * failure only; the database's own message is logged, not returned.
+ */
+@Slf4j
+@Service
+public class TaskBulkService {
+
+    private final TaskRepository taskRepository;
+    private final UserRepository userRepository;
+    private final CategoryRepository categoryRepository;
+    private final NotificationService notificationService;
+    private final TaskSearchIndex taskSearchIndex;
+    private final ListVersions listVersions;
+    private final TaskStats taskStats;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int maxItems;
+
+    public TaskBulkService(TaskRepository taskRepository,
+                           UserRepository userRepository,
+                           CategoryRepository categoryRepository,
+                           NotificationService notificationService,
+                           TaskSearchIndex taskSearchIndex,
+                           ListVersions listVersions,
+                           TaskStats taskStats,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${tasks.bulk.chunk-size:500}") int chunkSize,
+                           @Value("${tasks.bulk.max-items:20000}") int maxItems) {
+        this.taskRepository = taskRepository;
+        this.userRepository = userRepository;
+        this.categoryRepository = categoryRepository;
+        this.notificationService = notificationService;
+        this.taskSearchIndex = taskSearchIndex;
+        this.listVersions = listVersions;
+        this.taskStats = taskStats;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.maxItems = maxItems;
+    }
+
+    // ================= CREATE =================
+
+    public BulkResponse createTasks(List<TaskCreateRequest> requests) {
+        return inChunks(requests, (chunk, offset, results) -> {
+            Map<Long, Category> categories = byId(
+                    categoryRepository.findAllById(ids(chunk, TaskCreateRequest::getCategoryId)), Category::getId);
+
+            List<Task> created = new ArrayList<>(chunk.size());
+            List<Integer> positions = new ArrayList<>(chunk.size());
+            for (int i = 0; i < chunk.size(); i++) {
+                TaskCreateRequest request = chunk.get(i);
+                if (request == null) {
+                    results[offset + i] = BulkItemResult.failed(offset + i, null, "Missing item");
+                    continue;
+                }
+                Category category = null;
+                if (request.getCategoryId() != null) {
+                    category = categories.get(request.getCategoryId());
+                    if (category == null) {
+                        results[offset + i] = BulkItemResult.failed(offset + i, null, "Category not found");
+                        continue;
+                    }
+                }
+
+                Task task = new Task();
+                task.setTitle(request.getTitle());
+                task.setDescription(request.getDescription());
+                task.setDueDate(request.getDueDate());
+                task.setStatus(TaskStatus.PENDING);
+                task.setCategory(category);
+                created.add(task);
+                positions.add(offset + i);
+            }
+
+            taskRepository.saveAll(created);
+            TaskStats.Changes stats = new TaskStats.Changes();
+            for (int i = 0; i < created.size(); i++) {
+                results[positions.get(i)] = BulkItemResult.ok(positions.get(i), created.get(i).getId());
+                stats.add(created.get(i));
+            }
+            taskStats.applyAfterCommit(stats);
+            afterCommit(created, List.of(), List.of());
+        });
+    }
+
+    // ================= ASSIGN =================
+
+    public BulkResponse assignTasks(List<TaskAssignRequest> requests) {
+        return inChunks(requests, (chunk, offset, results) -> {
+            Map<Long, Task> tasks = byId(
+                    loadTasks(ids(chunk, TaskAssignRequest::getTaskId)), Task::getId);
+            Map<Long, User> users = byId(
+                    userRepository.findAllById(ids(chunk, TaskAssignRequest::getUserId)), User::getId);
+
+            List<Task> touched = new ArrayList<>(chunk.size());
+            List<String> previousScopes = new ArrayList<>();
+            TaskStats.Changes stats = new TaskStats.Changes();
+            for (int i = 0; i < chunk.size(); i++) {
+                TaskAssignRequest request = chunk.get(i);
+                Long taskId = request != null ? request.getTaskId() : null;
+                Task task = taskId != null ? tasks.get(taskId) : null;
+                User user = request != null && request.getUserId() != null ? users.get(request.getUserId()) : null;
+                if (task == null) {
+                    results[offset + i] = BulkItemResult.failed(offset + i, taskId, "Task not found");
+                    continue;
+                }
+                if (user == null) {
+                    results[offset + i] = BulkItemResult.failed(offset + i, taskId, "User not found");
+                    continue;
+                }
+
+                previousScopes.addAll(ListVersions.taskScopes(task));
+                TaskStats.Key before = TaskStats.Key.of(task);
+                task.setAssignedUser(user);
+                stats.move(before, task);
+                touched.add(task);
+                notificationService.enqueueForUser(user.getId(),
+                        "You have been assigned a new task: " + task.getTitle());
+                results[offset + i] = BulkItemResult.ok(offset + i, taskId);
+            }
+            taskStats.applyAfterCommit(stats);
+            afterCommit(List.of(), touched, previousScopes);
+        });
+    }
+
+    // ================= STATUS =================
+
+    public BulkResponse updateStatuses(List<TaskStatusChange> changes) {
+        return inChunks(changes, (chunk, offset, results) -> {
+            Map<Long, Task> tasks = byId(
+                    loadTasks(ids(chunk, TaskStatusChange::getTaskId)), Task::getId);
+
+            List<Task> touched = new ArrayList<>(chunk.size());
+            TaskStats.Changes stats = new TaskStats.Changes();
+            for (int i = 0; i < chunk.size(); i++) {
+                TaskStatusChange change = chunk.get(i);
+                Long taskId = change != null ? change.getTaskId() : null;
+                Task task = taskId != null ? tasks.get(taskId) : null;
+                if (task == null) {
+                    results[offset + i] = BulkItemResult.failed(offset + i, taskId, "Task not found");
+                    continue;
+                }
+                TaskStatus status = parseStatus(change.getStatus());
+                if (status == null) {
+                    results[offset + i] = BulkItemResult.failed(offset + i, taskId,
+                            "Invalid status: " + change.getStatus());
+                    continue;
+                }
+                if (status == task.getStatus()) {
+                    results[offset + i] = BulkItemResult.ok(offset + i, taskId);
+                    continue;
+                }
+                if (!task.getStatus().canTransitionTo(status)) {
+                    results[offset + i] = BulkItemResult.failed(offset + i, taskId,
+                            "Cannot change status from " + task.getStatus() + " to " + status);
+                    continue;
+                }
+
+                TaskStats.Key before = TaskStats.Key.of(task);
+                task.setStatus(status);
+                stats.move(before, task);
+                touched.add(task);
+                notificationService.enqueueForAdmins(
+                        "Task '" + task.getTitle() + "' status updated to " + task.getStatus());
+                results[offset + i] = BulkItemResult.ok(offset + i, taskId);
+            }
+            if (!touched.isEmpty()) {
+                taskRepository.recordStatusChanges(touched.stream().map(Task::getId).toList(), LocalDateTime.now());
+            }
+            taskStats.applyAfterCommit(stats);
+            afterCommit(List.of(), touched, List.of());
+        });
+    }
+
+    // ================= DELETE =================
+
+    public BulkResponse deleteTasks(List<Long> taskIds) {
+        return inChunks(taskIds, (chunk, offset, results) -> {
+            Map<Long, Task> tasks = byId(
+                    loadTasks(ids(chunk, Function.identity())), Task::getId);
+
+            Set<Task> deleted = new LinkedHashSet<>();
+            for (int i = 0; i < chunk.size(); i++) {
+                Long taskId = chunk.get(i);
+                Task task = taskId != null ? tasks.get(taskId) : null;
+                if (task == null) {
+                    results[offset + i] = BulkItemResult.failed(offset + i, taskId, "Task not found");
+                    continue;
+                }
+                deleted.add(task);
+                results[offset + i] = BulkItemResult.ok(offset + i, taskId);
+            }
+
+            // entity deletes, batched by Hibernate as "where id = ? and version = ?": a task updated
+            // after it was loaded fails the chunk and is reported as a conflict on replay
+            List<Long> removedIds = deleted.stream().map(Task::getId).toList();
+            taskRepository.deleteAll(deleted);
+            List<String> scopes = deleted.stream().flatMap(task -> ListVersions.taskScopes(task).stream()).toList();
+            TaskStats.Changes stats = new TaskStats.Changes();
+            deleted.forEach(task -> stats.remove(TaskStats.Key.of(task)));
+            taskStats.applyAfterCommit(stats);
+            listVersions.bumpAfterCommit(scopes.toArray(String[]::new));
+            AfterCommit.run(() -> removedIds.forEach(taskSearchIndex::remove));
+        });
+    }
+
+    // ================= CHUNKING =================
+
+    @FunctionalInterface
+    private interface ChunkHandler<T> {
+        void apply(List<T> chunk, int offset, BulkItemResult[] results);
+    }
+
+    private <T> BulkResponse inChunks(List<T> items, ChunkHandler<T> handler) {
+        if (items == null || items.isEmpty()) {
+            throw new BulkSizeLimitException("At least one item is required");
+        }
+        if (items.size() > maxItems) {
+            throw new BulkSizeLimitException("At most " + maxItems + " items per request");
+        }
+
+        BulkItemResult[] results = new BulkItemResult[items.size()];
+        for (int from = 0; from < items.size(); from += chunkSize) {
+            int offset = from;
+            List<T> chunk = items.subList(from, Math.min(from + chunkSize, items.size()));
+            try {
+                transactionTemplate.executeWithoutResult(status -> handler.apply(chunk, offset, results));
+            } catch (RuntimeException chunkFailure) {
+                // isolate the offending item: replay the chunk one item per transaction
+                for (int i = 0; i < chunk.size(); i++) {
+                    int index = offset + i;
+                    List<T> single = chunk.subList(i, i + 1);
+                    try {
+                        transactionTemplate.executeWithoutResult(status -> handler.apply(single, index, results));
+                    } catch (RuntimeException itemFailure) {
+                        Long taskId = results[index] != null ? results[index].getTaskId() : null;
+                        results[index] = BulkItemResult.failed(index, taskId, itemError(index, itemFailure));
+                    }
+                }
+            }
+        }
+        return new BulkResponse(Arrays.asList(results));
+    }
+
+    // ================= HELPERS =================
+
+    private void afterCommit(List<Task> created, List<Task> updated, List<String> previousScopes) {
+        Set<String> scopes = new LinkedHashSet<>(previousScopes);
+        List<Task> indexed = new ArrayList<>(created);
+        indexed.addAll(updated);
+        for (Task task : indexed) {
+            scopes.addAll(ListVersions.taskScopes(task));
+        }
+        listVersions.bumpAfterCommit(scopes.toArray(String[]::new));
+        if (!created.isEmpty()) {
+            AfterCommit.run(() -> created.forEach(task ->
+                    taskSearchIndex.index(task.getId(), task.getTitle(), task.getDescription())));
+        }
+    }
+
+    private List<Task> loadTasks(Set<Long> ids) {
+        return ids.isEmpty() ? List.of() : taskRepository.findWithReferencesByIdIn(ids);
+    }
+
+    private static <T> Set<Long> ids(Collection<T> items, Function<T, Long> id) {
+        Set<Long> ids = new LinkedHashSet<>();
+        for (T item : items) {
+            Long value = item != null ? id.apply(item) : null;
+            if (value != null) {
+                ids.add(value);
+            }
+        }
+        return ids;
+    }
+
+    private static <T> Map<Long, T> byId(Collection<T> rows, Function<T, Long> id) {
+        Map<Long, T> map = new HashMap<>();
+        for (T row : rows) {
+            map.put(id.apply(row), row);
+        }
+        return map;
+    }
+
+    private static TaskStatus parseStatus(String status) {
+        if (status == null) {
+            return null;
+        }
+        try {
+            return TaskStatus.valueOf(status);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static String itemError(int index, RuntimeException error) {
+        String cause = NestedExceptionUtils.getMostSpecificCause(error).toString();
+        if (error instanceof DataIntegrityViolationException) {
+            log.info("Bulk item {} violated a constraint: {}", index, cause);
+            return "Constraint violation";
+        }
+        if (error instanceof OptimisticLockingFailureException) {
+            log.info("Bulk item {} lost a concurrent update: {}", index, cause);
+            return "Conflict";
+        }
+        log.warn("Bulk item {} failed", index, error);
+        return "Could not be processed";
+    }
+}
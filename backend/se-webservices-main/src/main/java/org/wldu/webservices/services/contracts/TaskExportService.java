@@ -0,0 +1,127 @@
+package org.wldu.webservices.services.contracts;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.wldu.webservices.dtoFiles.TaskResponse;
+import org.wldu.webservices.exceptions.UnsupportedExportFormatException;
+import org.wldu.webservices.repositories.TaskRepository;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+@Service
+@RequiredArgsConstructor
+public class TaskExportService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int FLUSH_EVERY = 1000;
+
+    private final TaskRepository taskRepository;
+    private final ObjectMapper objectMapper;
+
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public static Format parse(String value) {
+            try {
+                return Format.valueOf(value.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new UnsupportedExportFormatException(value);
+            }
+        }
+    }
+
+    // Rows are written as the JDBC cursor advances, nothing is collected in memory.
+    // The first row is flushed immediately so clients see bytes before the scan finishes.
+    @Transactional(readOnly = true)
+    public void export(Format format, boolean gzip, OutputStream target) throws IOException {
+        OutputStream sink = gzip ? new GZIPOutputStream(target, BUFFER_SIZE, true) : target;
+        OutputStream out = new BufferedOutputStream(sink, BUFFER_SIZE);
+
+        try (Stream<TaskResponse> rows = taskRepository.streamAllResponses()) {
+            if (format == Format.CSV) {
+                writeCsvLine(out, "id", "title", "description", "status",
+                        "assignedToUsername", "categoryName", "dueDate");
+            }
+
+            ObjectWriter json = objectMapper.writerFor(TaskResponse.class);
+            long written = 0;
+            Iterator<TaskResponse> it = rows.iterator();
+            while (it.hasNext()) {
+                TaskResponse row = it.next();
+                if (format == Format.NDJSON) {
+                    out.write(json.writeValueAsBytes(row));
+                    out.write('\n');
+                } else {
+                    writeCsvLine(out,
+                            String.valueOf(row.getId()),
+                            row.getTitle(),
+                            row.getDescription(),
+                            row.getStatus() != null ? row.getStatus().name() : null,
+                            row.getAssignedToUsername(),
+                            row.getCategoryName(),
+                            row.getDueDate() != null ? row.getDueDate().toString() : null);
+                }
+
+                written++;
+                if (written == 1 || written % FLUSH_EVERY == 0) {
+                    out.flush();
+                }
+            }
+        }
+
+        out.flush();
+        if (sink instanceof GZIPOutputStream gz) {
+            gz.finish();
+        }
+    }
+
+    private static void writeCsvLine(OutputStream out, String... fields) throws IOException {
+        StringBuilder line = new StringBuilder();
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                line.append(',');
+            }
+            line.append(csvField(fields[i]));
+        }
+        line.append("\r\n");
+        out.write(line.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0
+                && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
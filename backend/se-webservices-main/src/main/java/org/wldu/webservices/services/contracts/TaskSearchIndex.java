@@ -0,0 +1,376 @@
+package org.wldu.webservices.services.contracts;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.wldu.webservices.dtoFiles.SearchIndexReport;
+import org.wldu.webservices.dtoFiles.TaskText;
+import org.wldu.webservices.repositories.TaskRepository;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * In-process inverted index over task title and description.
+ * <p>
+ * Built from the database on startup and kept current by {@link TaskService}
+ * after each committed create, update and delete. Queries are AND across
+ * tokens; the last token also matches as a prefix so search-as-you-type works.
+ * Ranking is tf-idf with title hits weighted above description hits.
+ */
+@Slf4j
+@Component
+public class TaskSearchIndex {
+
+    private static final int MIN_TOKEN_LENGTH = 2;
+    private static final int TITLE_WEIGHT = 3;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final int MAX_PREFIX_EXPANSION = 64;
+    private static final double PREFIX_MATCH_FACTOR = 0.5;
+
+    private final TaskRepository taskRepository;
+    private final TransactionTemplate readOnlyTx;
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    private volatile Segment active = new Segment();
+    // non-null only while a rebuild is running, live updates are applied to both
+    private volatile Segment building;
+    private volatile boolean ready;
+
+    public TaskSearchIndex(TaskRepository taskRepository,
+                           PlatformTransactionManager transactionManager) {
+        this.taskRepository = taskRepository;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        Thread.ofPlatform().name("task-search-index").daemon(true).start(() -> {
+            SearchIndexReport report = rebuild();
+            log.info("Task search index built: {} documents in {} ms",
+                    report.getIndexedDocuments(), report.getDurationMillis());
+        });
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // ================= UPDATES =================
+
+    public void index(Long taskId, String title, String description) {
+        Map<String, Integer> weights = weigh(title, description);
+        Segment rebuilding = building;
+        if (rebuilding != null) {
+            rebuilding.put(taskId, weights, true);
+        }
+        active.put(taskId, weights, false);
+    }
+
+    public void remove(Long taskId) {
+        Segment rebuilding = building;
+        if (rebuilding != null) {
+            rebuilding.remove(taskId, true);
+        }
+        active.remove(taskId, false);
+    }
+
+    // ================= QUERY =================
+
+    public List<Long> search(String query, int limit) {
+        List<String> tokens = new ArrayList<>(new LinkedHashSet<>(tokenize(query)));
+        if (tokens.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        Segment segment = active;
+        int documents = Math.max(segment.documents.size(), 1);
+
+        // rarest exact tokens first keeps the candidate set small; the prefix token stays last
+        String prefixToken = tokens.removeLast();
+        tokens.sort(Comparator.comparingInt(token -> postingSize(segment, token)));
+        tokens.add(prefixToken);
+
+        Map<Long, Double> scores = null;
+        for (int i = 0; i < tokens.size(); i++) {
+            boolean last = i == tokens.size() - 1;
+            Map<Long, Double> tokenScores = scoreToken(segment, tokens.get(i), last, documents,
+                    scores != null ? scores.keySet() : null);
+            if (tokenScores.isEmpty()) {
+                return List.of();
+            }
+            if (scores == null) {
+                scores = tokenScores;
+            } else {
+                scores.keySet().retainAll(tokenScores.keySet());
+                for (Map.Entry<Long, Double> e : scores.entrySet()) {
+                    e.setValue(e.getValue() + tokenScores.get(e.getKey()));
+                }
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+        }
+
+        return topK(scores, limit);
+    }
+
+    // candidates != null restricts scoring to documents that matched the earlier tokens
+    private Map<Long, Double> scoreToken(Segment segment, String token, boolean prefix,
+                                         int documents, Set<Long> candidates) {
+        Map<Long, Double> result = new HashMap<>();
+        addPostings(segment, token, 1.0, documents, candidates, result);
+
+        if (prefix) {
+            int expanded = 0;
+            for (String term : segment.terms.subSet(token, false, token + Character.MAX_VALUE, false)) {
+                if (++expanded > MAX_PREFIX_EXPANSION) {
+                    break;
+                }
+                addPostings(segment, term, PREFIX_MATCH_FACTOR, documents, candidates, result);
+            }
+        }
+        return result;
+    }
+
+    private static void addPostings(Segment segment, String term, double factor, int documents,
+                                    Set<Long> candidates, Map<Long, Double> into) {
+        Map<Long, Integer> posting = segment.postings.get(term);
+        if (posting == null || posting.isEmpty()) {
+            return;
+        }
+        double idf = Math.log(1.0 + (double) documents / posting.size());
+
+        // walk whichever side is smaller
+        if (candidates != null && candidates.size() < posting.size()) {
+            for (Long id : candidates) {
+                Integer weight = posting.get(id);
+                if (weight != null) {
+                    into.merge(id, weight * idf * factor, Double::sum);
+                }
+            }
+            return;
+        }
+        for (Map.Entry<Long, Integer> e : posting.entrySet()) {
+            if (candidates == null || candidates.contains(e.getKey())) {
+                into.merge(e.getKey(), e.getValue() * idf * factor, Double::sum);
+            }
+        }
+    }
+
+    private static int postingSize(Segment segment, String term) {
+        Map<Long, Integer> posting = segment.postings.get(term);
+        return posting == null ? 0 : posting.size();
+    }
+
+    private static List<Long> topK(Map<Long, Double> scores, int limit) {
+        Comparator<Map.Entry<Long, Double>> byRank = Map.Entry.<Long, Double>comparingByValue()
+                .thenComparing(Map.Entry.<Long, Double>comparingByKey().reversed());
+
+        PriorityQueue<Map.Entry<Long, Double>> heap = new PriorityQueue<>(limit + 1, byRank);
+        for (Map.Entry<Long, Double> e : scores.entrySet()) {
+            heap.offer(e);
+            if (heap.size() > limit) {
+                heap.poll();
+            }
+        }
+
+        List<Long> ids = new ArrayList<>(heap.size());
+        while (!heap.isEmpty()) {
+            ids.add(heap.poll().getKey());
+        }
+        return ids.reversed();
+    }
+
+    // ================= ADMIN =================
+
+    public SearchIndexReport rebuild() {
+        rebuildLock.lock();
+        long started = System.nanoTime();
+        try {
+            Segment fresh = new Segment();
+            building = fresh;
+
+            long[] rows = {0};
+            readAll(text -> {
+                rows[0]++;
+                fresh.putUntouched(text.id(), weigh(text.title(), text.description()));
+            });
+
+            active = fresh;
+            ready = true;
+            return new SearchIndexReport(fresh.documents.size(), rows[0], 0, 0, 0, millisSince(started));
+        } finally {
+            building = null;
+            rebuildLock.unlock();
+        }
+    }
+
+    public SearchIndexReport verify() {
+        long started = System.nanoTime();
+        Segment segment = active;
+        long[] counts = new long[4]; // rows, matched, missing, stale
+
+        readAll(text -> {
+            counts[0]++;
+            Map<String, Integer> indexed = segment.documents.get(text.id());
+            if (indexed == null) {
+                counts[2]++;
+                return;
+            }
+            counts[1]++;
+            if (!indexed.equals(weigh(text.title(), text.description()))) {
+                counts[3]++;
+            }
+        });
+
+        long indexedDocs = segment.documents.size();
+        long orphaned = Math.max(indexedDocs - counts[1], 0);
+        return new SearchIndexReport(indexedDocs, counts[0], counts[2], counts[3], orphaned, millisSince(started));
+    }
+
+    private void readAll(Consumer<TaskText> consumer) {
+        readOnlyTx.executeWithoutResult(status -> {
+            try (Stream<TaskText> rows = taskRepository.streamTaskText()) {
+                rows.forEach(consumer);
+            }
+        });
+    }
+
+    // ================= TOKENIZER =================
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isEmpty()) {
+            return List.of();
+        }
+        List<String> tokens = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        String lower = text.toLowerCase(Locale.ROOT);
+        for (int i = 0; i < lower.length(); ) {
+            int cp = lower.codePointAt(i);
+            if (Character.isLetterOrDigit(cp)) {
+                current.appendCodePoint(cp);
+            } else {
+                flush(current, tokens);
+            }
+            i += Character.charCount(cp);
+        }
+        flush(current, tokens);
+        return tokens;
+    }
+
+    private static void flush(StringBuilder current, List<String> tokens) {
+        if (current.length() >= MIN_TOKEN_LENGTH) {
+            tokens.add(current.toString());
+        }
+        current.setLength(0);
+    }
+
+    private static Map<String, Integer> weigh(String title, String description) {
+        Map<String, Integer> weights = new HashMap<>();
+        for (String token : tokenize(title)) {
+            weights.merge(token, TITLE_WEIGHT, Integer::sum);
+        }
+        for (String token : tokenize(description)) {
+            weights.merge(token, DESCRIPTION_WEIGHT, Integer::sum);
+        }
+        return weights;
+    }
+
+    private static long millisSince(long startedNanos) {
+        return (System.nanoTime() - startedNanos) / 1_000_000;
+    }
+
+    // ================= STORAGE =================
+
+    // Every change to a document runs inside documents.compute for its id, which holds that
+    // id's bin lock: updates of one task apply one at a time, postings included, and the
+    // rebuild's touched check cannot interleave with a live update of the same task.
+    private static final class Segment {
+        final ConcurrentHashMap<String, ConcurrentHashMap<Long, Integer>> postings = new ConcurrentHashMap<>();
+        final ConcurrentSkipListSet<String> terms = new ConcurrentSkipListSet<>();
+        final ConcurrentHashMap<Long, Map<String, Integer>> documents = new ConcurrentHashMap<>();
+        // ids a live update wrote while this segment was being built
+        final Set<Long> touched = ConcurrentHashMap.newKeySet();
+
+        void put(Long id, Map<String, Integer> weights, boolean building) {
+            documents.compute(id, (key, previous) -> {
+                if (building) {
+                    touched.add(id);
+                }
+                repost(id, previous, weights);
+                return weights;
+            });
+        }
+
+        // rebuild rows: a live update already wrote a newer version of this task, or deleted it
+        void putUntouched(Long id, Map<String, Integer> weights) {
+            documents.compute(id, (key, previous) -> {
+                if (touched.contains(id)) {
+                    return previous;
+                }
+                repost(id, previous, weights);
+                return weights;
+            });
+        }
+
+        void remove(Long id, boolean building) {
+            documents.compute(id, (key, previous) -> {
+                if (building) {
+                    touched.add(id);
+                }
+                if (previous != null) {
+                    previous.keySet().forEach(term -> unpost(term, id));
+                }
+                return null;
+            });
+        }
+
+        private void repost(Long id, Map<String, Integer> previous, Map<String, Integer> weights) {
+            if (previous != null) {
+                for (String term : previous.keySet()) {
+                    if (!weights.containsKey(term)) {
+                        unpost(term, id);
+                    }
+                }
+            }
+            for (Map.Entry<String, Integer> e : weights.entrySet()) {
+                postings.compute(e.getKey(), (term, posting) -> {
+                    if (posting == null) {
+                        posting = new ConcurrentHashMap<>();
+                        terms.add(term);
+                    }
+                    posting.put(id, e.getValue());
+                    return posting;
+                });
+            }
+        }
+
+        private void unpost(String term, Long id) {
+            postings.computeIfPresent(term, (t, posting) -> {
+                posting.remove(id);
+                if (posting.isEmpty()) {
+                    terms.remove(t);
+                    return null;
+                }
+                return posting;
+            });
+        }
+    }
+}
@@ -1,33 +1,53 @@
 package org.wldu.webservices.services.contracts;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.wldu.webservices.auths.User;
 import org.wldu.webservices.auths.UserRepository;
+import org.wldu.webservices.dtoFiles.CursorPage;
 import org.wldu.webservices.dtoFiles.TaskAssignRequest;
 import org.wldu.webservices.dtoFiles.TaskCreateRequest;
+import org.wldu.webservices.dtoFiles.TaskFilter;
 import org.wldu.webservices.dtoFiles.TaskResponse;
+import org.wldu.webservices.dtoFiles.TaskStatsResponse;
+import org.wldu.webservices.dtoFiles.TaskStatusView;
 import org.wldu.webservices.dtoFiles.TaskUpdateRequest;
 import org.wldu.webservices.enities.*;
+import org.wldu.webservices.exceptions.SearchIndexNotReadyException;
+import org.wldu.webservices.exceptions.TaskConflictException;
 import org.wldu.webservices.repositories.CategoryRepository;
 import org.wldu.webservices.repositories.TaskRepository;
 import org.wldu.webservices.services.contracts.NotificationService;
 
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Objects;
 
 @Service
 @RequiredArgsConstructor
+@Timed(value = "service.method", description = "Service method latency by class and method")
 public class TaskService {
 
     private final TaskRepository taskRepository;
     private final UserRepository userRepository;
     private final CategoryRepository categoryRepository;
     private final NotificationService notificationService;
+    private final TaskSearchIndex taskSearchIndex;
+    private final ListVersions listVersions;
+    private final TaskStats taskStats;
+
+    private static final int STATUS_UPDATE_ATTEMPTS = 3;
 
 
     // 1️⃣ CREATE TASK
+    @Transactional
     public TaskResponse createTask(TaskCreateRequest request) {
 
         Task task = new Task();
@@ -42,10 +62,15 @@ public class TaskService {
             task.setCategory(category);
         }
 
-        return map(taskRepository.save(task));
+        Task saved = taskRepository.save(task);
+        AfterCommit.run(() -> taskSearchIndex.index(saved.getId(), saved.getTitle(), saved.getDescription()));
+        bumpListVersions(saved);
+        taskStats.applyAfterCommit(new TaskStats.Changes().add(saved));
+        return map(saved);
     }
 
     // 2️⃣ ASSIGN TASK
+    @Transactional
     public TaskResponse assignTask(TaskAssignRequest request) {
 
         Task task = taskRepository.findById(request.getTaskId())
@@ -54,12 +79,16 @@ public class TaskService {
         User user = userRepository.findById(request.getUserId())
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
+        bumpListVersions(task); // previous assignee's list
+        TaskStats.Key before = TaskStats.Key.of(task);
         task.setAssignedUser(user);
-        taskRepository.save(task);
+        taskRepository.saveAndFlush(task); // flush bumps @Version, so the response carries the committed one
+        bumpListVersions(task);
+        taskStats.applyAfterCommit(new TaskStats.Changes().move(before, task));
 
-        // 🔔 NOTIFY USER
-        notificationService.create(
-                user,
+        // 🔔 NOTIFY USER (outbox, delivered after commit by NotificationDispatcher)
+        notificationService.enqueueForUser(
+                user.getId(),
                 "You have been assigned a new task: " + task.getTitle()
         );
 
@@ -68,52 +97,123 @@ public class TaskService {
 
 
     // 3️⃣ GET ALL
+    @Transactional(readOnly = true)
     public List<TaskResponse> getAllTasks() {
-        return taskRepository.findAll().stream().map(this::map).collect(Collectors.toList());
+        return taskRepository.findAllResponses();
     }
 
     // 4️⃣ GET UNASSIGNED
+    @Transactional(readOnly = true)
     public List<TaskResponse> getUnassignedTasks() {
-        return taskRepository.findByAssignedUserIsNull().stream().map(this::map).toList();
+        return taskRepository.findUnassignedResponses();
     }
 
     // user task
+    @Transactional(readOnly = true)
     public List<TaskResponse> getTasksForUsername(String username) {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
-        return taskRepository.findByAssignedUserId(user.getId())
-                .stream().map(this::map).toList();
+        return taskRepository.findResponsesByAssignedUsername(username);
     }
 
 
     // 6️⃣ GET BY CATEGORY
+    @Transactional(readOnly = true)
     public List<TaskResponse> getTasksByCategory(Long categoryId) {
-        return taskRepository.findByCategoryId(categoryId).stream().map(this::map).toList();
+        return taskRepository.findResponsesByCategoryId(categoryId);
     }
 
-    public void updateTaskStatus(Long taskId, String status) {
+    // 7️⃣ KEYSET PAGES
+    @Transactional(readOnly = true)
+    public CursorPage<TaskResponse> getAllTasksPage(String cursor, Integer limit) {
+        int size = CursorCodec.pageSize(limit);
+        return toPage(taskRepository.findResponsesAfter(
+                CursorCodec.decodeId(cursor), Limit.of(size + 1)), size);
+    }
 
-        Task task = taskRepository.findById(taskId)
-                .orElseThrow(() -> new RuntimeException("Task not found"));
+    @Transactional(readOnly = true)
+    public CursorPage<TaskResponse> getUnassignedTasksPage(String cursor, Integer limit) {
+        int size = CursorCodec.pageSize(limit);
+        return toPage(taskRepository.findUnassignedResponsesAfter(
+                CursorCodec.decodeId(cursor), Limit.of(size + 1)), size);
+    }
 
-        task.setStatus(TaskStatus.valueOf(status));
-        taskRepository.save(task);
+    @Transactional(readOnly = true)
+    public CursorPage<TaskResponse> getTasksForUsernamePage(String username, String cursor, Integer limit) {
+        int size = CursorCodec.pageSize(limit);
+        return toPage(taskRepository.findResponsesByAssignedUsernameAfter(
+                username, CursorCodec.decodeId(cursor), Limit.of(size + 1)), size);
+    }
 
-        // 🔔 FIND ADMIN (SIMPLE WAY)
-        User adminUser = userRepository.findByUsername("admin")
-                .orElseThrow(() -> new RuntimeException("Admin not found"));
+    @Transactional(readOnly = true)
+    public CursorPage<TaskResponse> getTasksByCategoryPage(Long categoryId, String cursor, Integer limit) {
+        int size = CursorCodec.pageSize(limit);
+        return toPage(taskRepository.findResponsesByCategoryIdAfter(
+                categoryId, CursorCodec.decodeId(cursor), Limit.of(size + 1)), size);
+    }
 
-        // 🔔 NOTIFY ADMIN
-        notificationService.create(
-                adminUser,
-                "Task '" + task.getTitle() + "' status updated to " + task.getStatus()
-        );
+    // multi-criteria filter, same keyset paging as the lists above
+    @Transactional(readOnly = true)
+    public CursorPage<TaskResponse> queryTasks(TaskFilter filter, String cursor, Integer limit) {
+        int size = CursorCodec.pageSize(limit);
+        return toPage(taskRepository.findResponsesMatching(
+                filter, CursorCodec.decodeId(cursor), size + 1), size);
+    }
+
+    private CursorPage<TaskResponse> toPage(List<TaskResponse> rows, int size) {
+        return CursorPage.of(rows, size, row -> CursorCodec.encodeId(row.getId()));
+    }
+
+    // its own @Transactional: the self-call below does not go through the proxy
+    @Transactional
+    public void updateTaskStatus(Long taskId, String status) {
+        updateTaskStatus(taskId, status, null);
+    }
+
+    // one conditional UPDATE guarded by version and current status. With an expected version from
+    // the client a mismatch is a 409; without one, losing a race to another writer is retried.
+    @Transactional
+    public void updateTaskStatus(Long taskId, String status, Long expectedVersion) {
+        TaskStatus target = TaskStatus.valueOf(status);
+
+        for (int attempt = 0; attempt < STATUS_UPDATE_ATTEMPTS; attempt++) {
+            TaskStatusView current = taskRepository.findStatusView(taskId)
+                    .orElseThrow(() -> new RuntimeException("Task not found"));
+
+            if (expectedVersion != null && current.version() != expectedVersion) {
+                throw new TaskConflictException("Task was modified concurrently (current version "
+                        + current.version() + ")");
+            }
+            if (current.status() == target) {
+                return;
+            }
+            if (!current.status().canTransitionTo(target)) {
+                throw new TaskConflictException("Cannot change status from " + current.status() + " to " + target);
+            }
+
+            if (taskRepository.transitionStatus(
+                    taskId, current.version(), current.status(), target, LocalDateTime.now()) == 1) {
+                listVersions.bumpAfterCommit(ListVersions
+                        .taskScopes(current.assignedToUsername(), current.categoryId())
+                        .toArray(String[]::new));
+                taskStats.applyAfterCommit(new TaskStats.Changes().move(
+                        new TaskStats.Key(current.status(), current.categoryId(), current.assignedUserId()),
+                        new TaskStats.Key(target, current.categoryId(), current.assignedUserId())));
+
+                // 🔔 NOTIFY ADMIN (recipients are resolved by the dispatcher)
+                notificationService.enqueueForAdmins(
+                        "Task '" + current.title() + "' status updated to " + target
+                );
+                return;
+            }
+            if (expectedVersion != null) {
+                throw new TaskConflictException("Task was modified concurrently");
+            }
+        }
+        throw new TaskConflictException("Task is being updated concurrently, retry");
     }
 
 
-    // 🔹 MAPPER
-    private TaskResponse map(Task task) {
+    // 🔹 MAPPER (stateless; also driven directly by TaskMappingBenchmark)
+    public static TaskResponse map(Task task) {
         return new TaskResponse(
                 task.getId(),
                 task.getTitle(),
@@ -121,17 +221,25 @@ public class TaskService {
                 task.getStatus(),
                 task.getAssignedUser() != null ? task.getAssignedUser().getUsername() : null,
                 task.getCategory() != null ? task.getCategory().getName() : null,
-                task.getDueDate()
+                task.getDueDate(),
+                task.getVersion(),
+                task.getCommentCount(),
+                task.getLastCommentAt(),
+                task.getLastStatusChangeAt()
         );
     }
 
 
     // 8️⃣ UPDATE TASK (ADMIN)
+    @Transactional
     public TaskResponse updateTask(Long taskId, TaskUpdateRequest request) {
 
         Task task = taskRepository.findById(taskId)
                 .orElseThrow(() -> new RuntimeException("Task not found"));
 
+        bumpListVersions(task); // previous category's list
+        TaskStats.Key before = TaskStats.Key.of(task);
+        LocalDate previousDueDate = task.getDueDate();
         task.setTitle(request.getTitle());
         task.setDescription(request.getDescription());
         task.setDueDate(request.getDueDate());
@@ -142,14 +250,53 @@ public class TaskService {
             task.setCategory(category);
         }
 
-        return map(taskRepository.save(task));
+        Task saved = taskRepository.saveAndFlush(task); // as in assignTask: the response needs the bumped version
+        AfterCommit.run(() -> taskSearchIndex.index(saved.getId(), saved.getTitle(), saved.getDescription()));
+        bumpListVersions(saved);
+        taskStats.applyAfterCommit(new TaskStats.Changes().move(before, saved));
+        if (!Objects.equals(previousDueDate, saved.getDueDate())) {
+            taskRepository.resetDueNotice(taskId); // new due date, new reminders
+        }
+        return map(saved);
     }
 
     // 9️⃣ DELETE TASK (ADMIN)
+    @Transactional
     public void deleteTask(Long taskId) {
         Task task = taskRepository.findById(taskId)
                 .orElseThrow(() -> new RuntimeException("Task not found"));
         taskRepository.delete(task);
+        AfterCommit.run(() -> taskSearchIndex.remove(taskId));
+        bumpListVersions(task);
+        taskStats.applyAfterCommit(new TaskStats.Changes().remove(TaskStats.Key.of(task)));
+    }
+
+    // 🔹 CACHE VERSIONS: every list scope that can show this task
+    private void bumpListVersions(Task task) {
+        listVersions.bumpAfterCommit(ListVersions.taskScopes(task).toArray(String[]::new));
+    }
+
+    // 📊 DASHBOARD
+    public TaskStatsResponse getStats() {
+        return taskStats.snapshot();
+    }
+
+    // 🔎 SEARCH (ranked ids from the index, rows from one projection query)
+    @Transactional(readOnly = true)
+    public List<TaskResponse> searchTasks(String query, Integer limit) {
+        if (!taskSearchIndex.isReady()) {
+            throw new SearchIndexNotReadyException(); // 503 + Retry-After until the startup build is done
+        }
+        List<Long> ranked = taskSearchIndex.search(query, CursorCodec.pageSize(limit));
+        if (ranked.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, TaskResponse> rows = new HashMap<>();
+        for (TaskResponse row : taskRepository.findResponsesByIdIn(ranked)) {
+            rows.put(row.getId(), row);
+        }
+        return ranked.stream().map(rows::get).filter(Objects::nonNull).toList();
     }
 
 
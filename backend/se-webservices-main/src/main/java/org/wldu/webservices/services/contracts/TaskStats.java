@@ -0,0 +1,290 @@
+package org.wldu.webservices.services.contracts;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.wldu.webservices.dtoFiles.TaskStatsResponse;
+import org.wldu.webservices.dtoFiles.TaskStatsRow;
+import org.wldu.webservices.enities.Task;
+import org.wldu.webservices.enities.TaskStatus;
+import org.wldu.webservices.repositories.TaskRepository;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Task counts by (status, category, assignee) for the admin dashboard.
+ * <p>
+ * Seeded from one GROUP BY, then moved by every task mutation after it
+ * commits. A periodic check recomputes the GROUP BY and replaces the counters
+ * when they have drifted. Serving stats touches only the counters, whose number
+ * is bounded by statuses x categories x assignees rather than by tasks.
+ * <p>
+ * Deltas that commit while the GROUP BY runs are also written to a journal and
+ * added to its result before the swap, so the new counters lose none of them.
+ * A commit that lands just before the query but is applied just after it is
+ * counted twice that way, so the check only replaces counters when it sees the
+ * same drift twice in a row.
+ */
+@Slf4j
+@Component
+public class TaskStats {
+
+    public record Key(TaskStatus status, Long categoryId, Long assigneeId) {
+
+        public static Key of(Task task) {
+            return new Key(task.getStatus(),
+                    task.getCategory() != null ? task.getCategory().getId() : null,
+                    task.getAssignedUser() != null ? task.getAssignedUser().getId() : null);
+        }
+    }
+
+    // deltas collected during one transaction, applied together after commit
+    public static final class Changes {
+        private final Map<Key, Long> deltas = new HashMap<>();
+        private final Map<Long, String> categoryNames = new HashMap<>();
+        private final Map<Long, String> assigneeNames = new HashMap<>();
+
+        public Changes remove(Key key) {
+            deltas.merge(key, -1L, Long::sum);
+            return this;
+        }
+
+        public Changes add(Task task) {
+            deltas.merge(Key.of(task), 1L, Long::sum);
+            if (task.getCategory() != null) {
+                categoryNames.put(task.getCategory().getId(), task.getCategory().getName());
+            }
+            if (task.getAssignedUser() != null) {
+                assigneeNames.put(task.getAssignedUser().getId(), task.getAssignedUser().getUsername());
+            }
+            return this;
+        }
+
+        public Changes move(Key before, Task after) {
+            return remove(before).add(after);
+        }
+
+        public Changes move(Key before, Key after) {
+            deltas.merge(before, -1L, Long::sum);
+            deltas.merge(after, 1L, Long::sum);
+            return this;
+        }
+    }
+
+    private final TaskRepository taskRepository;
+    private final TransactionTemplate readOnlyTx;
+
+    private volatile Map<Key, LongAdder> counters = new ConcurrentHashMap<>();
+    private final Map<Long, String> categoryNames = new ConcurrentHashMap<>();
+    private final Map<Long, String> assigneeNames = new ConcurrentHashMap<>();
+    private volatile boolean seeded;
+    // one load at a time (seed, reseed, check)
+    private final ReentrantLock reseedLock = new ReentrantLock();
+    // appliers share it, the swap takes it alone so no delta lands on counters being replaced
+    private final ReentrantReadWriteLock swapLock = new ReentrantReadWriteLock();
+    // deltas applied since the running load started; null when none is running
+    private volatile Map<Key, Long> journal;
+    // guarded by reseedLock
+    private Map<Key, Long> lastDrift = Map.of();
+
+    public TaskStats(TaskRepository taskRepository, PlatformTransactionManager transactionManager) {
+        this.taskRepository = taskRepository;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+    }
+
+    // ================= UPDATES =================
+
+    public void applyAfterCommit(Changes changes) {
+        if (changes.deltas.isEmpty()) {
+            return;
+        }
+        AfterCommit.run(() -> {
+            categoryNames.putAll(changes.categoryNames);
+            assigneeNames.putAll(changes.assigneeNames);
+            swapLock.readLock().lock();
+            try {
+                Map<Key, LongAdder> current = counters;
+                Map<Key, Long> pending = journal;
+                changes.deltas.forEach((key, delta) -> {
+                    if (delta != 0) {
+                        current.computeIfAbsent(key, k -> new LongAdder()).add(delta);
+                        if (pending != null) {
+                            pending.merge(key, delta, Long::sum);
+                        }
+                    }
+                });
+            } finally {
+                swapLock.readLock().unlock();
+            }
+        });
+    }
+
+    // ================= READ =================
+
+    public TaskStatsResponse snapshot() {
+        if (!seeded) {
+            reseed();
+        }
+
+        long total = 0;
+        Map<String, Long> byStatus = new LinkedHashMap<>();
+        Map<Long, Map<String, Long>> byCategory = new HashMap<>();
+        Map<Long, Map<String, Long>> byAssignee = new HashMap<>();
+
+        for (Map.Entry<Key, LongAdder> e : counters.entrySet()) {
+            long count = e.getValue().sum();
+            if (count == 0) {
+                continue;
+            }
+            String status = String.valueOf(e.getKey().status());
+            total += count;
+            byStatus.merge(status, count, Long::sum);
+            byCategory.computeIfAbsent(e.getKey().categoryId(), id -> new LinkedHashMap<>())
+                    .merge(status, count, Long::sum);
+            byAssignee.computeIfAbsent(e.getKey().assigneeId(), id -> new LinkedHashMap<>())
+                    .merge(status, count, Long::sum);
+        }
+
+        return new TaskStatsResponse(total, byStatus,
+                buckets(byCategory, categoryNames), buckets(byAssignee, assigneeNames));
+    }
+
+    private static List<TaskStatsResponse.Bucket> buckets(Map<Long, Map<String, Long>> grouped,
+                                                          Map<Long, String> names) {
+        List<TaskStatsResponse.Bucket> buckets = new ArrayList<>(grouped.size());
+        grouped.forEach((id, statuses) -> buckets.add(new TaskStatsResponse.Bucket(
+                id,
+                id != null ? names.get(id) : null,
+                statuses.values().stream().mapToLong(Long::longValue).sum(),
+                statuses)));
+        buckets.sort(Comparator.comparingLong(TaskStatsResponse.Bucket::total).reversed());
+        return buckets;
+    }
+
+    // ================= SEED / CHECK =================
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seedOnStartup() {
+        reseed();
+    }
+
+    @Scheduled(fixedDelayString = "${tasks.stats.verify-ms:300000}",
+            initialDelayString = "${tasks.stats.verify-ms:300000}")
+    public void verify() {
+        reseedLock.lock();
+        try {
+            journal = new ConcurrentHashMap<>();
+            Map<Key, Long> loaded = load();
+            swapLock.writeLock().lock();
+            try {
+                Map<Key, Long> expected = withJournal(loaded);
+                Map<Key, Long> drift = drift(expected, nonZero(counters));
+                if (drift.isEmpty()) {
+                    lastDrift = Map.of();
+                } else if (drift.equals(lastDrift)) {
+                    log.warn("Task stats drifted from the database in {} groups, reseeding", drift.size());
+                    install(expected);
+                    lastDrift = Map.of();
+                } else {
+                    log.info("Task stats differ from the database in {} groups, checking again", drift.size());
+                    lastDrift = drift;
+                }
+            } finally {
+                swapLock.writeLock().unlock();
+            }
+        } finally {
+            journal = null;
+            reseedLock.unlock();
+        }
+    }
+
+    // a lock rather than synchronized: the query would pin a virtual thread to its carrier
+    public void reseed() {
+        reseedLock.lock();
+        try {
+            journal = new ConcurrentHashMap<>();
+            Map<Key, Long> loaded = load();
+            swapLock.writeLock().lock();
+            try {
+                install(withJournal(loaded));
+                lastDrift = Map.of();
+            } finally {
+                swapLock.writeLock().unlock();
+            }
+            seeded = true;
+        } finally {
+            journal = null;
+            reseedLock.unlock();
+        }
+    }
+
+    // under the write lock: the journal is complete and nothing else writes to it
+    private Map<Key, Long> withJournal(Map<Key, Long> loaded) {
+        Map<Key, Long> counts = new HashMap<>(loaded);
+        journal.forEach((key, delta) -> counts.merge(key, delta, Long::sum));
+        journal = null;
+        counts.values().removeIf(count -> count == 0);
+        return counts;
+    }
+
+    private static Map<Key, Long> nonZero(Map<Key, LongAdder> adders) {
+        Map<Key, Long> counts = new HashMap<>();
+        adders.forEach((key, adder) -> {
+            long count = adder.sum();
+            if (count != 0) {
+                counts.put(key, count);
+            }
+        });
+        return counts;
+    }
+
+    // expected minus actual for every group where they differ
+    private static Map<Key, Long> drift(Map<Key, Long> expected, Map<Key, Long> actual) {
+        Map<Key, Long> drift = new HashMap<>(expected);
+        actual.forEach((key, count) -> drift.merge(key, -count, Long::sum));
+        drift.values().removeIf(delta -> delta == 0);
+        return drift;
+    }
+
+    private void install(Map<Key, Long> counts) {
+        Map<Key, LongAdder> fresh = new ConcurrentHashMap<>();
+        counts.forEach((key, count) -> {
+            LongAdder adder = new LongAdder();
+            adder.add(count);
+            fresh.put(key, adder);
+        });
+        counters = fresh;
+    }
+
+    private Map<Key, Long> load() {
+        List<TaskStatsRow> rows = Objects.requireNonNullElse(
+                readOnlyTx.execute(status -> taskRepository.countByStatusCategoryAndAssignee()), List.of());
+
+        Map<Key, Long> counts = new HashMap<>();
+        for (TaskStatsRow row : rows) {
+            counts.put(new Key(row.status(), row.categoryId(), row.assigneeId()), row.count());
+            if (row.categoryId() != null) {
+                categoryNames.put(row.categoryId(), row.categoryName());
+            }
+            if (row.assigneeId() != null) {
+                assigneeNames.put(row.assigneeId(), row.assigneeUsername());
+            }
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,64 @@
+package org.wldu.webservices.services.contracts;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Unread notification count per user, seeded from one COUNT query the first
+ * time a user asks and then moved by {@link NotificationService} after each
+ * committed create and mark-seen. Users never asked about cost nothing.
+ * <p>
+ * The seed can race with those after-commit moves (a row committed between the
+ * COUNT and the put is counted twice, a mark-seen that lands before the seed is
+ * lost), so a counter is trusted for max-age-ms only and then counted again,
+ * and one that would drop below zero is dropped at once.
+ */
+@Component
+public class UnreadCounters {
+
+    private static final class Counter {
+        final AtomicLong value;
+        final long seededAt = System.nanoTime();
+
+        Counter(long value) {
+            this.value = new AtomicLong(value);
+        }
+    }
+
+    private final Map<Long, Counter> counters = new ConcurrentHashMap<>();
+    private final long maxAgeNanos;
+
+    public UnreadCounters(@Value("${notifications.unread.max-age-ms:300000}") long maxAgeMillis) {
+        this.maxAgeNanos = TimeUnit.MILLISECONDS.toNanos(maxAgeMillis);
+    }
+
+    public long get(Long userId, LongSupplier seed) {
+        Counter counter = counters.get(userId);
+        if (counter != null && System.nanoTime() - counter.seededAt > maxAgeNanos) {
+            counters.remove(userId, counter);
+        }
+        return Math.max(counters.computeIfAbsent(userId, id -> new Counter(seed.getAsLong())).value.get(), 0);
+    }
+
+    // unseeded users are skipped, their first read counts the committed row anyway
+    public void increment(Long userId) {
+        Counter counter = counters.get(userId);
+        if (counter != null) {
+            counter.value.incrementAndGet();
+        }
+    }
+
+    // below zero means the seed missed rows this mark-seen covered; count again on the next read
+    public void decrement(Long userId, long by) {
+        Counter counter = counters.get(userId);
+        if (counter != null && counter.value.addAndGet(-by) < 0) {
+            counters.remove(userId, counter);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+-- Schema as Hibernate's ddl-auto=update left it before migrations took over
+-- (H2: tests and the embedded profile). Existing databases are baselined here.
+
+create table user12 (
+    id       bigint generated by default as identity primary key,
+    username varchar(255) not null unique,
+    password varchar(255) not null,
+    role     varchar(255) not null,
+    active   boolean      not null
+);
+
+create table categories (
+    id          bigint generated by default as identity primary key,
+    name        varchar(255) not null unique,
+    description varchar(255)
+);
+
+create table tasks (
+    id               bigint generated by default as identity primary key,
+    title            varchar(255),
+    description      varchar(255),
+    status           enum ('COMPLETED', 'IN_PROGRESS', 'PENDING'),
+    due_date         date,
+    assigned_user_id bigint references user12,
+    category_id      bigint references categories
+);
+
+create table comments (
+    id         bigint generated by default as identity primary key,
+    content    varchar(255),
+    created_at timestamp(6),
+    task_id    bigint references tasks,
+    user_id    bigint references user12
+);
+
+create table notifications (
+    id         bigint generated by default as identity primary key,
+    message    varchar(255),
+    seen       boolean not null,
+    created_at timestamp(6),
+    user_id    bigint references user12
+);
@@ -0,0 +1,32 @@
+-- Same as postgresql/V2. H2 databases are created fresh, so no sequence catch-up.
+
+alter table user12 add column if not exists token_version integer default 0 not null;
+
+alter table tasks add column if not exists version bigint default 0 not null;
+alter table tasks add column if not exists comment_count integer default 0 not null;
+alter table tasks add column if not exists last_comment_at timestamp(6);
+alter table tasks add column if not exists last_status_change_at timestamp(6);
+alter table tasks add column if not exists due_notice_stage integer default 0 not null;
+
+create table if not exists notification_outbox (
+    id           bigint primary key,
+    type         enum ('ADMIN_NOTIFICATION', 'USER_NOTIFICATION') not null,
+    recipient_id bigint,
+    message      varchar(1000) not null,
+    created_at   timestamp(6),
+    attempts     integer default 0 not null
+);
+
+create sequence if not exists tasks_seq start with 1 increment by 50;
+create sequence if not exists comments_seq start with 1 increment by 50;
+create sequence if not exists notifications_seq start with 1 increment by 50;
+create sequence if not exists notification_outbox_seq start with 1 increment by 50;
+
+create index if not exists idx_tasks_status_category_due on tasks (status, category_id, due_date);
+create index if not exists idx_tasks_assignee_status_due on tasks (assigned_user_id, status, due_date);
+create index if not exists idx_tasks_category_due on tasks (category_id, due_date);
+create index if not exists idx_tasks_due_date on tasks (due_date);
+create index if not exists idx_tasks_status_notice_due on tasks (status, due_notice_stage, due_date, id);
+create index if not exists idx_comments_task_created on comments (task_id, created_at, id);
+create index if not exists idx_notifications_user_id on notifications (user_id, id);
+create index if not exists idx_notifications_user_seen_created on notifications (user_id, seen, created_at);
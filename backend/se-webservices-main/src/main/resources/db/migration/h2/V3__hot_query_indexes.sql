@@ -0,0 +1,8 @@
+-- Same intent as postgresql/V3. H2 has no partial indexes: unassigned tasks use
+-- idx_tasks_assignee_id (assigned_user_id IS NULL is an index condition) and
+-- unread counts use idx_notifications_user_seen_created.
+
+create index if not exists idx_tasks_assignee_id on tasks (assigned_user_id, id);
+create index if not exists idx_tasks_category_id on tasks (category_id, id);
+create index if not exists idx_notifications_user_created on notifications (user_id, created_at);
+create index if not exists idx_comments_user on comments (user_id);
@@ -0,0 +1,65 @@
+-- Columns, tables and sequences the entities gained after V1. Written to run on
+-- databases baselined at V1 as well as on ones ddl-auto=update already moved
+-- part of the way, hence IF NOT EXISTS throughout.
+
+-- token revocation
+alter table user12 add column if not exists token_version integer not null default 0;
+
+-- optimistic locking, comment activity, status history, due-date notices
+alter table tasks add column if not exists version bigint not null default 0;
+alter table tasks add column if not exists comment_count integer not null default 0;
+alter table tasks add column if not exists last_comment_at timestamp(6);
+alter table tasks add column if not exists last_status_change_at timestamp(6);
+alter table tasks add column if not exists due_notice_stage integer not null default 0;
+
+-- notification outbox
+create table if not exists notification_outbox (
+    id           bigint primary key,
+    type         varchar(255)  not null check (type in ('USER_NOTIFICATION', 'ADMIN_NOTIFICATION')),
+    recipient_id bigint,
+    message      varchar(1000) not null,
+    created_at   timestamp(6),
+    attempts     integer       not null default 0
+);
+
+-- pooled sequence ids (batched inserts) for the tables that had IDENTITY ids
+create sequence if not exists tasks_seq start with 1 increment by 50;
+create sequence if not exists comments_seq start with 1 increment by 50;
+create sequence if not exists notifications_seq start with 1 increment by 50;
+create sequence if not exists notification_outbox_seq start with 1 increment by 50;
+
+-- /api/tasks/query filter combinations
+create index if not exists idx_tasks_status_category_due on tasks (status, category_id, due_date);
+create index if not exists idx_tasks_assignee_status_due on tasks (assigned_user_id, status, due_date);
+create index if not exists idx_tasks_category_due on tasks (category_id, due_date);
+create index if not exists idx_tasks_due_date on tasks (due_date);
+-- due-date sweeper: one range scan per (status, notice stage)
+create index if not exists idx_tasks_status_notice_due on tasks (status, due_notice_stage, due_date, id);
+-- comment pages: newest first within a task, id breaks created_at ties
+create index if not exists idx_comments_task_created on comments (task_id, created_at, id);
+-- inbox pages walk a user's notifications by id; unread counts and mark-seen filter on seen
+create index if not exists idx_notifications_user_id on notifications (user_id, id);
+create index if not exists idx_notifications_user_seen_created on notifications (user_id, seen, created_at);
+
+-- Rows written under IDENTITY already use low ids, and the new sequences start
+-- empty. Move each sequence past the ids in use
+-- (pooled optimizer: after setval(n) the next block is n + 1 .. n + 50).
+do $$
+declare
+    seq    record;
+    max_id bigint;
+    last   bigint;
+begin
+    for seq in select * from (values ('tasks', 'tasks_seq'),
+                                     ('comments', 'comments_seq'),
+                                     ('notifications', 'notifications_seq'),
+                                     ('notification_outbox', 'notification_outbox_seq')) as s(tbl, name)
+    loop
+        execute format('select max(id) from %I', seq.tbl) into max_id;
+        execute format('select last_value from %I', seq.name) into last;
+        if max_id is not null and max_id >= last then
+            perform setval(seq.name, max_id);
+        end if;
+    end loop;
+end
+$$;
@@ -0,0 +1,17 @@
+-- Indexes for the per-user / per-category list reads. IF NOT EXISTS because a
+-- baselined database may already carry some of them from ddl-auto=update.
+
+-- my-tasks and findByAssignedUserId, keyset pages ordered by id
+create index if not exists idx_tasks_assignee_id on tasks (assigned_user_id, id);
+-- category lists and findByCategoryId, keyset pages ordered by id
+create index if not exists idx_tasks_category_id on tasks (category_id, id);
+-- unassigned lists (findByAssignedUserIsNull): only the rows that qualify are indexed
+create index if not exists idx_tasks_unassigned on tasks (id) where assigned_user_id is null;
+
+-- findByUserIdOrderByCreatedAtDesc
+create index if not exists idx_notifications_user_created on notifications (user_id, created_at desc);
+-- unread badge: index-only count over unread rows
+create index if not exists idx_notifications_unread on notifications (user_id) where seen = false;
+
+-- foreign keys without an index make deletes of users and tasks scan the children
+create index if not exists idx_comments_user on comments (user_id);
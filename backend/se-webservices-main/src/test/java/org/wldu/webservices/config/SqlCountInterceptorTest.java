@@ -0,0 +1,106 @@
+package org.wldu.webservices.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.wldu.webservices.enities.Task;
+import org.wldu.webservices.enities.TaskStatus;
+import org.wldu.webservices.repositories.TaskRepository;
+import org.wldu.webservices.support.Fixtures;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// security filters are off and the caller is put in the context directly, so no token is minted;
+// method security (@PreAuthorize) still runs. MockMvc dispatches on the test thread, which is
+// what lets the test look at the counter's ThreadLocal after each request.
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:sql-count;MODE=PostgreSQL;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc(addFilters = false)
+@ActiveProfiles("test")
+class SqlCountInterceptorTest {
+
+    private static final String METER = "http.server.requests.sql";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @BeforeEach
+    void signInAsAdmin() {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "sql-count-admin", null, List.of(new SimpleGrantedAuthority("ROLE_ADMIN"))));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        SecurityContextHolder.clearContext();
+        taskRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void aListRouteIsRecordedUnderItsPath() throws Exception {
+        taskRepository.save(Fixtures.task("sql count", TaskStatus.PENDING));
+
+        mockMvc.perform(get("/api/tasks/get-all")).andExpect(status().isOk());
+
+        DistributionSummary statements = registry.get(METER)
+                .tags("method", "GET", "uri", "/api/tasks/get-all").summary();
+        assertThat(statements.count()).isEqualTo(1);
+        assertThat(statements.totalAmount()).isPositive();
+        assertThat(SqlStatementCounter.stop()).isEqualTo(-1);
+    }
+
+    @Test
+    void anIdRouteIsRecordedUnderItsTemplateNotTheId() throws Exception {
+        Task task = taskRepository.save(Fixtures.task("sql count", TaskStatus.PENDING));
+
+        mockMvc.perform(get("/api/comments/{taskId}", task.getId())).andExpect(status().isOk());
+        mockMvc.perform(get("/api/comments/{taskId}", task.getId() + 1)).andExpect(status().isOk());
+
+        DistributionSummary statements = registry.get(METER)
+                .tags("method", "GET", "uri", "/api/comments/{taskId}").summary();
+        assertThat(statements.count()).isEqualTo(2);
+        assertThat(registry.find(METER).meters())
+                .extracting(meter -> meter.getId().getTag("uri"))
+                .noneMatch(uri -> uri.contains(String.valueOf(task.getId())));
+        assertThat(SqlStatementCounter.stop()).isEqualTo(-1);
+    }
+
+    @Test
+    void anAsyncRequestLeavesNoCounterOnTheRequestThread() throws Exception {
+        taskRepository.save(Fixtures.task("sql count", TaskStatus.PENDING));
+
+        MvcResult started = mockMvc.perform(get("/api/tasks/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        // the handler returned and the body streams elsewhere; this thread's counter is gone
+        assertThat(SqlStatementCounter.stop()).isEqualTo(-1);
+
+        mockMvc.perform(asyncDispatch(started)).andExpect(status().isOk());
+        assertThat(SqlStatementCounter.stop()).isEqualTo(-1);
+        // recorded once, by the async dispatch that completed the request
+        assertThat(registry.get(METER).tags("method", "GET", "uri", "/api/tasks/export").summary().count())
+                .isEqualTo(1);
+    }
+}
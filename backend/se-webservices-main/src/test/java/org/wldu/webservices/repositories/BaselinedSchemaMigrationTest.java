@@ -0,0 +1,44 @@
+package org.wldu.webservices.repositories;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// a database ddl-auto=update built from the original entities, with rows in it,
+// baselined at V1 the way spring.flyway.baseline-on-migrate does on first start
+class BaselinedSchemaMigrationTest {
+
+    @Test
+    void aBaselinedDatabaseIsMigratedToTheCurrentSchema() throws Exception {
+        DataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:baselined;MODE=PostgreSQL;DB_CLOSE_DELAY=-1", "sa", "");
+        try (Connection connection = dataSource.getConnection()) {
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource("db/migration/h2/V1__baseline.sql"));
+        }
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.update("insert into user12 (username, password, role, active) values ('old', 'secret', 'ROLE_USER', true)");
+        jdbc.update("insert into tasks (title, status, assigned_user_id) values ('old task', 'PENDING', 1)");
+
+        Flyway flyway = Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration/h2")
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .load();
+
+        assertThat(flyway.migrate().migrationsExecuted).isEqualTo(2);
+        assertThat(jdbc.queryForObject("select version + comment_count + due_notice_stage from tasks", Integer.class))
+                .isZero();
+        assertThat(jdbc.queryForObject("select token_version from user12", Integer.class)).isZero();
+        assertThat(jdbc.queryForObject("select count(*) from notification_outbox", Integer.class)).isZero();
+        assertThat(jdbc.queryForObject("select next value for tasks_seq", Long.class)).isNotNull();
+    }
+}
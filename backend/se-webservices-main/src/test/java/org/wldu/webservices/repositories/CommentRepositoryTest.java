@@ -0,0 +1,71 @@
+package org.wldu.webservices.repositories;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+import org.wldu.webservices.auths.User;
+import org.wldu.webservices.dtoFiles.CommentResponse;
+import org.wldu.webservices.enities.Comment;
+import org.wldu.webservices.enities.Task;
+import org.wldu.webservices.enities.TaskStatus;
+import org.wldu.webservices.support.Fixtures;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+class CommentRepositoryTest {
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void pagesCoverTheThreadExactlyOnceEvenWithTimestampTies() {
+        User author = Fixtures.user("commenter");
+        entityManager.persist(author);
+
+        Task task = Fixtures.task("busy task", TaskStatus.PENDING);
+        entityManager.persist(task);
+
+        // three comments per timestamp so page boundaries fall inside a tie
+        LocalDateTime base = LocalDateTime.of(2025, 1, 1, 12, 0);
+        for (int i = 0; i < 25; i++) {
+            Comment comment = new Comment();
+            comment.setTask(task);
+            comment.setUser(author);
+            comment.setContent("comment " + i);
+            comment.setCreatedAt(base.plusMinutes(i / 3));
+            entityManager.persist(comment);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        List<CommentResponse> walked = new ArrayList<>();
+        List<CommentResponse> page = commentRepository.findFirstResponsePage(task.getId(), Limit.of(4));
+        while (!page.isEmpty()) {
+            walked.addAll(page);
+            CommentResponse last = page.getLast();
+            page = commentRepository.findResponsePageBefore(
+                    task.getId(), last.getCreatedAt(), last.getId(), Limit.of(4));
+        }
+
+        assertThat(walked).hasSize(25);
+        assertThat(walked).extracting(CommentResponse::getId).doesNotHaveDuplicates();
+        assertThat(walked).extracting(CommentResponse::getId)
+                .containsExactlyElementsOf(commentRepository.findResponsesByTaskId(task.getId())
+                        .stream().map(CommentResponse::getId).toList());
+        assertThat(walked).allSatisfy(c -> assertThat(c.getUsername()).isEqualTo("commenter"));
+    }
+}
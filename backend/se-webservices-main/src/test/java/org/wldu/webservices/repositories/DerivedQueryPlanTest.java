@@ -0,0 +1,185 @@
+package org.wldu.webservices.repositories;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.test.context.ActiveProfiles;
+import org.wldu.webservices.auths.User;
+import org.wldu.webservices.auths.UserRepository;
+import org.wldu.webservices.enities.Category;
+import org.wldu.webservices.enities.Comment;
+import org.wldu.webservices.enities.Notification;
+import org.wldu.webservices.enities.Task;
+import org.wldu.webservices.enities.TaskStatus;
+import org.wldu.webservices.support.Fixtures;
+import org.wldu.webservices.support.QueryPlanCapture;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Method;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Every derived repository query (no @Query) must reach its tables through an
+ * index of the migrated schema, never a full scan. Plans come from EXPLAIN on
+ * the statements actually executed, including any follow-up selects for eager
+ * associations. A new derived query fails {@link #everyDerivedQueryHasAPlanCheck}
+ * until it is added to {@link #CASES}. Finders this suite pushed onto an explicit
+ * FK-path @Query stay listed so they keep their plan check.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(QueryPlanCapture.class)
+class DerivedQueryPlanTest {
+
+    private static final List<Class<?>> REPOSITORIES = List.of(TaskRepository.class, CommentRepository.class,
+            NotificationRepository.class, CategoryRepository.class, OutboxEventRepository.class, UserRepository.class);
+
+    private static final Map<String, Consumer<DerivedQueryPlanTest>> CASES = Map.ofEntries(
+            Map.entry("TaskRepository.findByAssignedUserId", t -> t.taskRepository.findByAssignedUserId(t.user.getId())),
+            Map.entry("TaskRepository.findByAssignedUserIsNull", t -> t.taskRepository.findByAssignedUserIsNull()),
+            Map.entry("TaskRepository.findByCategoryId", t -> t.taskRepository.findByCategoryId(t.category.getId())),
+            Map.entry("CommentRepository.findByTaskIdOrderByCreatedAtDesc",
+                    t -> t.commentRepository.findByTaskIdOrderByCreatedAtDesc(t.task.getId())),
+            Map.entry("NotificationRepository.findByUserIdOrderByCreatedAtDesc",
+                    t -> t.notificationRepository.findByUserIdOrderByCreatedAtDesc(t.user.getId())),
+            Map.entry("NotificationRepository.findByUserIdAndIdGreaterThanOrderByIdAsc",
+                    t -> t.notificationRepository.findByUserIdAndIdGreaterThanOrderByIdAsc(t.user.getId(), 0L, Limit.of(50))),
+            Map.entry("NotificationRepository.countByUserIdAndSeenFalse",
+                    t -> t.notificationRepository.countByUserIdAndSeenFalse(t.user.getId())),
+            Map.entry("CategoryRepository.findByName", t -> t.categoryRepository.findByName(t.category.getName())),
+            Map.entry("UserRepository.findByUsername", t -> t.userRepository.findByUsername(t.user.getUsername())),
+            Map.entry("UserRepository.existsByUsername", t -> t.userRepository.existsByUsername(t.user.getUsername()))
+    );
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private QueryPlanCapture capture;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private User user;
+    private Category category;
+    private Task task;
+
+    // enough rows per table that a full scan costs more than any index path
+    @BeforeEach
+    void seed() {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            User u = Fixtures.user("derived-plan-user-" + i);
+            entityManager.persist(u);
+            users.add(u);
+        }
+        List<Category> categories = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            Category c = Fixtures.category("derived-plan-category-" + i);
+            entityManager.persist(c);
+            categories.add(c);
+        }
+
+        TaskStatus[] statuses = TaskStatus.values();
+        LocalDateTime base = LocalDateTime.of(2026, 1, 1, 9, 0);
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            Task t = Fixtures.task("task " + i, statuses[i % statuses.length]);
+            t.setDueDate(LocalDate.of(2026, 1, 1).plusDays(i % 365));
+            t.setCategory(categories.get(i % categories.size()));
+            t.setAssignedUser(i % 50 == 0 ? null : users.get(i % users.size()));
+            entityManager.persist(t);
+            tasks.add(t);
+        }
+        for (int i = 0; i < 4000; i++) {
+            Comment c = new Comment();
+            c.setContent("comment " + i);
+            c.setCreatedAt(base.plusMinutes(i));
+            c.setTask(tasks.get(i % tasks.size()));
+            c.setUser(users.get(i % users.size()));
+            entityManager.persist(c);
+        }
+        for (int i = 0; i < 4000; i++) {
+            Notification n = new Notification();
+            n.setMessage("notification " + i);
+            n.setSeen(i % 3 == 0);
+            n.setCreatedAt(base.plusMinutes(i));
+            n.setUser(users.get(i % users.size()));
+            entityManager.persist(n);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        QueryPlanCapture.analyze(dataSource);
+
+        user = users.get(7);
+        category = categories.get(3);
+        task = tasks.get(11);
+    }
+
+    static Stream<String> derivedQueries() {
+        return CASES.keySet().stream().sorted();
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("derivedQueries")
+    void derivedQueryUsesAnIndex(String query) {
+        capture.reset();
+        CASES.get(query).accept(this);
+
+        List<QueryPlanCapture.Captured> selects = capture.selects();
+        assertThat(selects).as("statements run by %s", query).isNotEmpty();
+        for (QueryPlanCapture.Captured select : selects) {
+            String plan = capture.explain(select);
+            assertThat(QueryPlanCapture.scansAnyTable(plan))
+                    .as("plan for %s:%n%s", query, plan)
+                    .isFalse();
+        }
+    }
+
+    @Test
+    void everyDerivedQueryHasAPlanCheck() {
+        TreeSet<String> derived = new TreeSet<>();
+        for (Class<?> repository : REPOSITORIES) {
+            Arrays.stream(repository.getDeclaredMethods())
+                    .filter(m -> !m.isDefault() && !m.isSynthetic() && !m.isAnnotationPresent(Query.class))
+                    .map(Method::getName)
+                    .forEach(name -> derived.add(repository.getSimpleName() + "." + name));
+        }
+
+        assertThat(CASES.keySet()).containsAll(derived);
+    }
+}
@@ -0,0 +1,85 @@
+package org.wldu.webservices.repositories;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+import org.wldu.webservices.auths.User;
+import org.wldu.webservices.dtoFiles.NotificationResponse;
+import org.wldu.webservices.enities.Notification;
+import org.wldu.webservices.support.Fixtures;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+class NotificationRepositoryTest {
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private User owner;
+    private User other;
+    private final List<Long> ownerIds = new ArrayList<>();
+
+    @BeforeEach
+    void seed() {
+        owner = persistUser("inbox-owner");
+        other = persistUser("inbox-other");
+        for (int i = 0; i < 7; i++) {
+            ownerIds.add(persistNotification(owner, "owner " + i));
+            persistNotification(other, "other " + i);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void inboxPagesWalkNewestFirstWithoutOverlap() {
+        List<NotificationResponse> first = notificationRepository.findInboxPage(
+                owner.getId(), Long.MAX_VALUE, Limit.of(3));
+        List<NotificationResponse> second = notificationRepository.findInboxPage(
+                owner.getId(), first.getLast().getId(), Limit.of(3));
+
+        assertThat(first).extracting(NotificationResponse::getId)
+                .containsExactly(ownerIds.get(6), ownerIds.get(5), ownerIds.get(4));
+        assertThat(second).extracting(NotificationResponse::getId)
+                .containsExactly(ownerIds.get(3), ownerIds.get(2), ownerIds.get(1));
+    }
+
+    @Test
+    void markSeenUpToTouchesOnlyTheOwnersUnseenRows() {
+        int updated = notificationRepository.markSeenUpTo(owner.getId(), ownerIds.get(3));
+        int again = notificationRepository.markSeenUpTo(owner.getId(), ownerIds.get(3));
+
+        assertThat(updated).isEqualTo(4);
+        assertThat(again).isZero();
+        assertThat(notificationRepository.countByUserIdAndSeenFalse(owner.getId())).isEqualTo(3);
+        assertThat(notificationRepository.countByUserIdAndSeenFalse(other.getId())).isEqualTo(7);
+    }
+
+    private User persistUser(String username) {
+        User user = Fixtures.user(username);
+        entityManager.persist(user);
+        return user;
+    }
+
+    private Long persistNotification(User user, String message) {
+        Notification notification = new Notification();
+        notification.setUser(user);
+        notification.setMessage(message);
+        entityManager.persist(notification);
+        return notification.getId();
+    }
+}
@@ -0,0 +1,65 @@
+package org.wldu.webservices.repositories;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+import org.wldu.webservices.enities.OutboxEvent;
+import org.wldu.webservices.enities.OutboxEventType;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+class OutboxEventRepositoryTest {
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void lockNextBatchTakesOldestFirstAndSkipsExhaustedEvents() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ids.add(persist("event " + i, i == 1 ? 10 : 0));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        List<OutboxEvent> batch = outboxEventRepository.lockNextBatch(10, Limit.of(3));
+
+        assertThat(batch).extracting(OutboxEvent::getId)
+                .containsExactly(ids.get(0), ids.get(2), ids.get(3));
+    }
+
+    @Test
+    void failedAttemptsAreCountedPerEvent() {
+        Long first = persist("first", 0);
+        Long second = persist("second", 0);
+        entityManager.flush();
+
+        outboxEventRepository.recordFailedAttempt(List.of(first));
+        entityManager.clear();
+
+        assertThat(outboxEventRepository.findById(first)).get().extracting(OutboxEvent::getAttempts).isEqualTo(1);
+        assertThat(outboxEventRepository.findById(second)).get().extracting(OutboxEvent::getAttempts).isEqualTo(0);
+    }
+
+    private Long persist(String message, int attempts) {
+        OutboxEvent event = new OutboxEvent();
+        event.setType(OutboxEventType.ADMIN_NOTIFICATION);
+        event.setMessage(message);
+        event.setAttempts(attempts);
+        entityManager.persist(event);
+        return event.getId();
+    }
+}
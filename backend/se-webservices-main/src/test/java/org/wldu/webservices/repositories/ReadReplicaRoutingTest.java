@@ -0,0 +1,141 @@
+package org.wldu.webservices.repositories;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.wldu.webservices.config.ReadReplicaConfig;
+import org.wldu.webservices.config.ReplicaReads;
+import org.wldu.webservices.enities.Category;
+import org.wldu.webservices.services.contracts.CategoryService;
+import org.wldu.webservices.services.contracts.ListVersions;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// two in-memory databases stand in for primary and replica; nothing replicates
+// between them, so where a row is visible tells which pool served the read
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing-primary;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+        "datasource.replica.jdbc-url=" + ReadReplicaRoutingTest.REPLICA_URL,
+        "datasource.replica.username=sa",
+        "datasource.routing.primary-after-write-ms=60000"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import({ReadReplicaConfig.class, ReplicaReads.class, CategoryService.class, ListVersions.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReadReplicaRoutingTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:routing-replica;MODE=PostgreSQL;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ReplicaReads replicaReads;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replica;
+
+    @BeforeEach
+    void migrateReplica() {
+        Flyway.configure().dataSource(replica).locations("classpath:db/migration/h2").load().migrate();
+    }
+
+    @AfterEach
+    void clearUser() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyServiceReadsGoToTheReplica() {
+        String name = insertOnReplica();
+
+        assertThat(names(categoryService.getAllCategories())).contains(name);
+        assertThat(categoryService.getCategoryById(idOnReplica(name)).getName()).isEqualTo(name);
+    }
+
+    @Test
+    void writesAndBareRepositoryReadsStayOnThePrimary() {
+        String name = unique();
+        categoryService.createCategory(category(name));
+        String replicaOnly = insertOnReplica();
+
+        assertThat(categoryRepository.findByName(name)).isPresent();
+        assertThat(categoryRepository.findByName(replicaOnly)).isEmpty();
+        assertThat(names(categoryService.getAllCategories())).doesNotContain(name);
+    }
+
+    @Test
+    void aUsersReadsFollowTheirOwnWrite() {
+        String name = unique();
+        authenticate("writer");
+        categoryService.createCategory(category(name));
+
+        replicaReads.recordWriteByCurrentUser();
+        assertThat(names(categoryService.getAllCategories())).contains(name);
+
+        authenticate("someone-else");
+        assertThat(names(categoryService.getAllCategories())).doesNotContain(name);
+    }
+
+    @Test
+    void onPrimarySeesRowsTheReplicaHasNot() {
+        String name = unique();
+        categoryService.createCategory(category(name));
+
+        assertThat(names(ReplicaReads.onPrimary(categoryService::getAllCategories))).contains(name);
+    }
+
+    private String insertOnReplica() {
+        String name = unique();
+        // the replica pool is read-only, so write through a plain connection to the same database
+        new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""))
+                .update("insert into categories (name) values (?)", name);
+        return name;
+    }
+
+    private Long idOnReplica(String name) {
+        return new JdbcTemplate(replica).queryForObject("select id from categories where name = ?", Long.class, name);
+    }
+
+    private static void authenticate(String username) {
+        SecurityContextHolder.getContext().setAuthentication(UsernamePasswordAuthenticationToken.authenticated(
+                username, null, AuthorityUtils.createAuthorityList("ROLE_USER")));
+    }
+
+    private static List<String> names(List<Category> categories) {
+        return categories.stream().map(Category::getName).toList();
+    }
+
+    private static Category category(String name) {
+        Category category = new Category();
+        category.setName(name);
+        return category;
+    }
+
+    private static String unique() {
+        return "routing-" + UUID.randomUUID();
+    }
+}
@@ -0,0 +1,120 @@
+package org.wldu.webservices.repositories;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.wldu.webservices.auths.User;
+import org.wldu.webservices.dtoFiles.TaskResponse;
+import org.wldu.webservices.enities.Comment;
+import org.wldu.webservices.enities.Task;
+import org.wldu.webservices.enities.TaskStatus;
+import org.wldu.webservices.support.Fixtures;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+class TaskActivityRepositoryTest {
+
+    private static final LocalDateTime NEVER = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void recordCommentIncrementsInPlaceWithoutTouchingTheVersion() {
+        Task task = persistTask();
+        LocalDateTime at = LocalDateTime.of(2025, 3, 1, 9, 30);
+
+        taskRepository.recordComment(task.getId(), at);
+        taskRepository.recordComment(task.getId(), at.plusMinutes(5));
+        entityManager.clear();
+
+        TaskResponse row = responseFor(task.getId());
+        assertThat(row.getCommentCount()).isEqualTo(2);
+        assertThat(row.getLastCommentAt()).isEqualTo(at.plusMinutes(5));
+        assertThat(row.getVersion()).isZero();
+    }
+
+    @Test
+    void entitySavesDoNotOverwriteTheCounters() {
+        Task task = persistTask();
+        taskRepository.recordComment(task.getId(), LocalDateTime.now());
+
+        // the managed entity still holds commentCount = 0
+        task.setTitle("renamed");
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(responseFor(task.getId()).getCommentCount()).isEqualTo(1);
+    }
+
+    @Test
+    void reconcileRepairsOnlyDriftedRows() {
+        User author = persistUser();
+        Task drifted = persistTask();
+        Task correct = persistTask();
+        LocalDateTime at = LocalDateTime.of(2025, 4, 2, 8, 0);
+        persistComment(drifted, author, at);
+        persistComment(drifted, author, at.plusHours(1));
+        persistComment(correct, author, at);
+        taskRepository.recordComment(correct.getId(), at);
+        entityManager.flush();
+
+        int repaired = taskRepository.reconcileCommentActivity(0, taskRepository.findMaxId(), NEVER);
+        entityManager.clear();
+
+        assertThat(repaired).isEqualTo(1);
+        TaskResponse row = responseFor(drifted.getId());
+        assertThat(row.getCommentCount()).isEqualTo(2);
+        assertThat(row.getLastCommentAt()).isEqualTo(at.plusHours(1));
+        assertThat(responseFor(correct.getId()).getCommentCount()).isEqualTo(1);
+    }
+
+    @Test
+    void lockWindowReturnsTheWindowsIdsInOrder() {
+        Task first = persistTask();
+        Task second = persistTask();
+        Task outside = persistTask();
+
+        assertThat(taskRepository.lockWindow(first.getId() - 1, second.getId()))
+                .containsExactly(first.getId(), second.getId())
+                .doesNotContain(outside.getId());
+    }
+
+    private TaskResponse responseFor(Long taskId) {
+        return taskRepository.findResponsesByIdIn(List.of(taskId)).getFirst();
+    }
+
+    private Task persistTask() {
+        Task task = Fixtures.task("activity", TaskStatus.PENDING);
+        entityManager.persist(task);
+        entityManager.flush();
+        return task;
+    }
+
+    private User persistUser() {
+        User user = Fixtures.user("activity-author");
+        entityManager.persist(user);
+        return user;
+    }
+
+    private void persistComment(Task task, User author, LocalDateTime at) {
+        Comment comment = new Comment();
+        comment.setTask(task);
+        comment.setUser(author);
+        comment.setContent("note");
+        comment.setCreatedAt(at);
+        entityManager.persist(comment);
+    }
+}
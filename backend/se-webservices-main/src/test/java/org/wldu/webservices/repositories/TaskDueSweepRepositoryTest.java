@@ -0,0 +1,111 @@
+package org.wldu.webservices.repositories;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+import org.wldu.webservices.auths.User;
+import org.wldu.webservices.dtoFiles.DueTaskRow;
+import org.wldu.webservices.enities.Task;
+import org.wldu.webservices.enities.TaskStatus;
+import org.wldu.webservices.support.Fixtures;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+class TaskDueSweepRepositoryTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 6, 10);
+    private static final LocalDate BEGINNING = LocalDate.of(1970, 1, 1);
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void keysetChunksVisitEveryOverdueTaskOnceInDueDateOrder() {
+        User owner = persistUser();
+        // several tasks share a due date so the id tie-breaker matters
+        for (int i = 0; i < 7; i++) {
+            persistTask(owner, TaskStatus.PENDING, TODAY.minusDays(i % 3 + 1));
+        }
+        persistTask(owner, TaskStatus.PENDING, TODAY.plusDays(1));
+        persistTask(owner, TaskStatus.COMPLETED, TODAY.minusDays(2));
+        entityManager.flush();
+
+        List<DueTaskRow> seen = new ArrayList<>();
+        LocalDate afterDue = BEGINNING.minusDays(1);
+        long afterId = 0;
+        List<DueTaskRow> chunk;
+        do {
+            chunk = taskRepository.findDueChunk(TaskStatus.PENDING, 0, BEGINNING, TODAY,
+                    afterDue, afterId, Limit.of(3));
+            seen.addAll(chunk);
+            if (!chunk.isEmpty()) {
+                afterDue = chunk.getLast().dueDate();
+                afterId = chunk.getLast().id();
+            }
+        } while (chunk.size() == 3);
+
+        assertThat(seen).hasSize(7);
+        assertThat(seen).extracting(DueTaskRow::id).doesNotHaveDuplicates();
+        assertThat(seen).extracting(DueTaskRow::dueDate).isSorted();
+        assertThat(seen).allSatisfy(row -> assertThat(row.assigneeId()).isEqualTo(owner.getId()));
+    }
+
+    @Test
+    void advancedTasksDropOutOfTheirStageAndNeverMoveBack() {
+        Task task = persistTask(persistUser(), TaskStatus.IN_PROGRESS, TODAY.minusDays(1));
+        entityManager.flush();
+
+        assertThat(taskRepository.advanceDueNotice(List.of(task.getId()), 2)).isEqualTo(1);
+        assertThat(taskRepository.advanceDueNotice(List.of(task.getId()), 1)).isZero();
+        entityManager.clear();
+
+        assertThat(chunk(TaskStatus.IN_PROGRESS, 0)).isEmpty();
+        assertThat(chunk(TaskStatus.IN_PROGRESS, 2)).extracting(DueTaskRow::id).containsExactly(task.getId());
+    }
+
+    @Test
+    void resetMakesTheTaskEligibleAgain() {
+        Task task = persistTask(null, TaskStatus.PENDING, TODAY.minusDays(3));
+        entityManager.flush();
+        taskRepository.advanceDueNotice(List.of(task.getId()), 2);
+
+        taskRepository.resetDueNotice(task.getId());
+        entityManager.clear();
+
+        assertThat(chunk(TaskStatus.PENDING, 0)).singleElement()
+                .satisfies(row -> assertThat(row.assigneeId()).isNull());
+    }
+
+    private List<DueTaskRow> chunk(TaskStatus status, int stage) {
+        return taskRepository.findDueChunk(status, stage, BEGINNING, TODAY,
+                BEGINNING.minusDays(1), 0, Limit.of(50));
+    }
+
+    private User persistUser() {
+        User user = Fixtures.user("owner-" + System.nanoTime());
+        entityManager.persist(user);
+        return user;
+    }
+
+    private Task persistTask(User assignee, TaskStatus status, LocalDate dueDate) {
+        Task task = Fixtures.task("sweep me", status);
+        task.setDueDate(dueDate);
+        task.setAssignedUser(assignee);
+        entityManager.persist(task);
+        return task;
+    }
+}
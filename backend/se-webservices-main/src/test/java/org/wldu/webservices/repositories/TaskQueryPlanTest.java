@@ -0,0 +1,115 @@
+package org.wldu.webservices.repositories;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.wldu.webservices.auths.User;
+import org.wldu.webservices.dtoFiles.TaskFilter;
+import org.wldu.webservices.dtoFiles.TaskResponse;
+import org.wldu.webservices.enities.Category;
+import org.wldu.webservices.enities.Task;
+import org.wldu.webservices.enities.TaskStatus;
+import org.wldu.webservices.support.Fixtures;
+import org.wldu.webservices.support.QueryPlanCapture;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Every combination of the /api/tasks/query filters must reach the tasks
+ * table through one of its indexes, never a full scan.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(QueryPlanCapture.class)
+class TaskQueryPlanTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 1, 1);
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private QueryPlanCapture capture;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private Long categoryId;
+    private Long assigneeId;
+
+    @BeforeEach
+    void seed() {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            User user = Fixtures.user("plan-user-" + i);
+            entityManager.persist(user);
+            users.add(user);
+        }
+        List<Category> categories = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            Category category = Fixtures.category("plan-category-" + i);
+            entityManager.persist(category);
+            categories.add(category);
+        }
+        TaskStatus[] statuses = TaskStatus.values();
+        for (int i = 0; i < 2000; i++) {
+            Task task = Fixtures.task("task " + i, statuses[i % statuses.length]);
+            task.setDueDate(TODAY.plusDays(i % 365));
+            task.setCategory(categories.get(i % categories.size()));
+            task.setAssignedUser(i % 7 == 0 ? null : users.get(i % users.size()));
+            entityManager.persist(task);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        QueryPlanCapture.analyze(dataSource);
+
+        categoryId = categories.get(3).getId();
+        assigneeId = users.get(5).getId();
+    }
+
+    // all 2^5 subsets of {status, category, assignee, dueFrom, dueTo} except the empty one
+    static List<Integer> filterCombinations() {
+        List<Integer> masks = new ArrayList<>();
+        for (int mask = 1; mask < 32; mask++) {
+            masks.add(mask);
+        }
+        return masks;
+    }
+
+    @ParameterizedTest(name = "filter mask {0}")
+    @MethodSource("filterCombinations")
+    void everyFilterCombinationUsesAnIndex(int mask) {
+        TaskFilter filter = new TaskFilter();
+        if ((mask & 1) != 0) filter.setStatus(TaskStatus.IN_PROGRESS);
+        if ((mask & 2) != 0) filter.setCategoryId(categoryId);
+        if ((mask & 4) != 0) filter.setAssigneeId(assigneeId);
+        if ((mask & 8) != 0) filter.setDueFrom(TODAY.plusDays(30));
+        if ((mask & 16) != 0) filter.setDueTo(TODAY.plusDays(60));
+
+        capture.reset();
+        List<TaskResponse> rows = taskRepository.findResponsesMatching(filter, 0L, 51);
+        assertThat(rows).isNotNull();
+
+        QueryPlanCapture.Captured statement = capture.lastSelect();
+        String plan = capture.explain(statement);
+
+        assertThat(QueryPlanCapture.scansTable(plan, "tasks"))
+                .as("plan for %s:%n%s", filter, plan)
+                .isFalse();
+    }
+}
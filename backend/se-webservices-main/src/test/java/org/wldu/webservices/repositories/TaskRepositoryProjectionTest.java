@@ -0,0 +1,143 @@
+package org.wldu.webservices.repositories;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+import org.wldu.webservices.auths.User;
+import org.wldu.webservices.dtoFiles.TaskResponse;
+import org.wldu.webservices.dtoFiles.TaskStatsRow;
+import org.wldu.webservices.enities.Category;
+import org.wldu.webservices.enities.Task;
+import org.wldu.webservices.enities.TaskStatus;
+import org.wldu.webservices.support.Fixtures;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+class TaskRepositoryProjectionTest {
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void enableStatistics() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @Test
+    void listQueriesIssueOneStatementRegardlessOfRowCount() {
+        seed(3);
+        long small = statementsFor(() -> taskRepository.findAllResponses());
+
+        seed(60);
+        long large = statementsFor(() -> taskRepository.findAllResponses());
+
+        assertThat(small).isEqualTo(1);
+        assertThat(large).isEqualTo(1);
+    }
+
+    @Test
+    void filteredAndPagedQueriesIssueOneStatement() {
+        seed(40);
+
+        assertThat(statementsFor(() -> taskRepository.findUnassignedResponses())).isEqualTo(1);
+        assertThat(statementsFor(() -> taskRepository.findResponsesByAssignedUsername("user-7"))).isEqualTo(1);
+        assertThat(statementsFor(() -> taskRepository.findResponsesAfter(0L, Limit.of(25)))).isEqualTo(1);
+    }
+
+    @Test
+    void exportStreamIssuesOneStatement() {
+        seed(30);
+
+        long statements = statementsFor(() -> {
+            try (Stream<TaskResponse> rows = taskRepository.streamAllResponses()) {
+                return rows.toList();
+            }
+        });
+
+        assertThat(statements).isEqualTo(1);
+    }
+
+    @Test
+    void projectionCarriesJoinedNames() {
+        seed(2);
+
+        List<TaskResponse> rows = taskRepository.findResponsesByAssignedUsername("user-1");
+
+        assertThat(rows).isNotEmpty();
+        assertThat(rows).allSatisfy(r -> {
+            assertThat(r.getAssignedToUsername()).isEqualTo("user-1");
+            assertThat(r.getCategoryName()).startsWith("category-");
+        });
+    }
+
+    @Test
+    void statsGroupByAccountsForEveryTaskOnce() {
+        seed(12);
+
+        List<TaskStatsRow> rows = taskRepository.countByStatusCategoryAndAssignee();
+
+        assertThat(rows.stream().mapToLong(TaskStatsRow::count).sum()).isEqualTo(taskRepository.count());
+        assertThat(rows).filteredOn(r -> r.assigneeId() == null).isNotEmpty();
+        assertThat(rows).allSatisfy(r -> assertThat(r.categoryName()).startsWith("category-"));
+    }
+
+    private long statementsFor(Supplier<List<TaskResponse>> listCall) {
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        List<TaskResponse> rows = listCall.get();
+        assertThat(rows).isNotNull();
+
+        return statistics.getPrepareStatementCount();
+    }
+
+    // every task gets its own user and category so an N+1 path would show up as extra selects
+    private void seed(int count) {
+        long offset = taskRepository.count();
+        for (int i = 0; i < count; i++) {
+            long n = offset + i;
+
+            User user = Fixtures.user("user-" + n);
+            entityManager.persist(user);
+
+            Category category = Fixtures.category("category-" + n);
+            entityManager.persist(category);
+
+            Task task = new Task();
+            task.setTitle("task " + n);
+            task.setDescription("description " + n);
+            task.setStatus(TaskStatus.PENDING);
+            task.setDueDate(LocalDate.now().plusDays(n));
+            task.setCategory(category);
+            task.setAssignedUser(n % 5 == 0 ? null : user);
+            entityManager.persist(task);
+        }
+        entityManager.flush();
+    }
+}
@@ -0,0 +1,144 @@
+package org.wldu.webservices.repositories;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.wldu.webservices.dtoFiles.TaskStatusView;
+import org.wldu.webservices.enities.Task;
+import org.wldu.webservices.enities.TaskStatus;
+import org.wldu.webservices.support.Fixtures;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// commits for real: every thread needs to see the others' updates
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TaskStatusConcurrencyTest {
+
+    private static final int THREADS = 8;
+    private static final int ATTEMPTS_PER_THREAD = 250;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate tx;
+    private final List<Long> created = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        tx = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        tx.executeWithoutResult(status -> taskRepository.deleteAllByIdInBatch(created));
+    }
+
+    @Test
+    void concurrentTransitionsNeverLoseAnUpdate(TestReporter reporter) throws Exception {
+        Long taskId = createTask();
+        AtomicInteger applied = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> workers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            workers.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+                    TaskStatusView current = tx.execute(status -> taskRepository.findStatusView(taskId).orElseThrow());
+                    TaskStatus next = current.status() == TaskStatus.IN_PROGRESS
+                            ? TaskStatus.COMPLETED
+                            : TaskStatus.IN_PROGRESS;
+                    Integer updated = tx.execute(status -> taskRepository.transitionStatus(
+                            taskId, current.version(), current.status(), next, LocalDateTime.now()));
+                    (updated == 1 ? applied : conflicts).incrementAndGet();
+                }
+                return null;
+            }));
+        }
+
+        long started = System.nanoTime();
+        start.countDown();
+        for (Future<?> worker : workers) {
+            worker.get();
+        }
+        long elapsedMillis = Math.max((System.nanoTime() - started) / 1_000_000, 1);
+        pool.shutdown();
+
+        TaskStatusView end = tx.execute(status -> taskRepository.findStatusView(taskId).orElseThrow());
+        reporter.publishEntry("status transitions", "%d applied, %d conflicts, %d attempts/s over %d threads".formatted(
+                applied.get(), conflicts.get(), THREADS * ATTEMPTS_PER_THREAD * 1000L / elapsedMillis, THREADS));
+
+        // every successful UPDATE bumped the version exactly once, none were overwritten
+        assertThat(applied.get() + conflicts.get()).isEqualTo(THREADS * ATTEMPTS_PER_THREAD);
+        assertThat(applied.get()).isPositive();
+        assertThat(end.version()).isEqualTo(applied.get());
+    }
+
+    @Test
+    void transitionFromStaleVersionOrStatusChangesNothing() {
+        Long taskId = createTask();
+
+        Integer staleVersion = tx.execute(status ->
+                taskRepository.transitionStatus(taskId, 7, TaskStatus.PENDING, TaskStatus.IN_PROGRESS, LocalDateTime.now()));
+        Integer staleStatus = tx.execute(status ->
+                taskRepository.transitionStatus(taskId, 0, TaskStatus.COMPLETED, TaskStatus.IN_PROGRESS, LocalDateTime.now()));
+        Integer current = tx.execute(status ->
+                taskRepository.transitionStatus(taskId, 0, TaskStatus.PENDING, TaskStatus.IN_PROGRESS, LocalDateTime.now()));
+
+        assertThat(staleVersion).isZero();
+        assertThat(staleStatus).isZero();
+        assertThat(current).isEqualTo(1);
+        TaskStatusView view = tx.execute(status -> taskRepository.findStatusView(taskId).orElseThrow());
+        assertThat(view.status()).isEqualTo(TaskStatus.IN_PROGRESS);
+        assertThat(view.version()).isEqualTo(1);
+    }
+
+    @Test
+    void staleEntityUpdateIsRejected() {
+        Long taskId = createTask();
+        Task first = tx.execute(status -> taskRepository.findById(taskId).orElseThrow());
+        Task second = tx.execute(status -> taskRepository.findById(taskId).orElseThrow());
+
+        first.setTitle("first writer");
+        tx.executeWithoutResult(status -> taskRepository.save(first));
+        second.setTitle("second writer");
+
+        assertThatThrownBy(() -> tx.executeWithoutResult(status -> taskRepository.save(second)))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+    }
+
+    private Long createTask() {
+        Task task = Fixtures.task("contended", TaskStatus.PENDING);
+        Long id = tx.execute(status -> taskRepository.save(task).getId());
+        created.add(id);
+        return id;
+    }
+}
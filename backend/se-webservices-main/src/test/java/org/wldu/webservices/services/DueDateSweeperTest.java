@@ -0,0 +1,112 @@
+package org.wldu.webservices.services;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.wldu.webservices.auths.User;
+import org.wldu.webservices.auths.UserRepository;
+import org.wldu.webservices.dtoFiles.NotificationDraft;
+import org.wldu.webservices.enities.Notification;
+import org.wldu.webservices.enities.Task;
+import org.wldu.webservices.enities.TaskStatus;
+import org.wldu.webservices.repositories.NotificationRepository;
+import org.wldu.webservices.repositories.TaskRepository;
+import org.wldu.webservices.services.contracts.DueDateSweeper;
+import org.wldu.webservices.services.contracts.NotificationService;
+import org.wldu.webservices.support.Fixtures;
+import org.wldu.webservices.support.ServiceSliceTest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+
+// chunks commit on their own, hence a database of its own
+@ServiceSliceTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:due-sweep;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+        "tasks.due-sweep.chunk-size=2",
+        "tasks.due-sweep.pause-ms=0"
+})
+class DueDateSweeperTest {
+
+    private static final String POISON = "poison";
+
+    @Autowired
+    private DueDateSweeper sweeper;
+
+    @MockitoSpyBean
+    private NotificationService notificationService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @AfterEach
+    void cleanUp() {
+        notificationRepository.deleteAllInBatch();
+        taskRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void aTaskWhoseNoticeFailsIsSkippedWithoutHoldingBackTheTasksAfterIt() {
+        User assignee = user();
+        // stands in for any notice the database rejects
+        doAnswer(invocation -> {
+            List<NotificationDraft> drafts = invocation.getArgument(0);
+            if (drafts.stream().anyMatch(draft -> draft.message().contains(POISON))) {
+                throw new IllegalStateException("insert rejected");
+            }
+            return invocation.callRealMethod();
+        }).when(notificationService).createAll(anyList());
+
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            tasks.add(overdueTask(i == 1 ? POISON : "late " + i, assignee, i));
+        }
+
+        sweeper.sweep();
+
+        assertThat(notificationRepository.findByUserIdOrderByCreatedAtDesc(assignee.getId())).hasSize(4);
+        for (Task task : tasks) {
+            int stage = taskRepository.findById(task.getId()).orElseThrow().getDueNoticeStage();
+            assertThat(stage).as(task.getTitle()).isEqualTo(POISON.equals(task.getTitle()) ? 0 : 2);
+        }
+    }
+
+    @Test
+    void longTitlesAreShortenedToFitTheNotice() {
+        User assignee = user();
+        overdueTask("t".repeat(255), assignee, 0);
+
+        sweeper.sweep();
+
+        assertThat(notificationRepository.findByUserIdOrderByCreatedAtDesc(assignee.getId()))
+                .singleElement()
+                .extracting(Notification::getMessage)
+                .satisfies(message -> {
+                    assertThat(message).hasSizeLessThanOrEqualTo(Notification.MESSAGE_LENGTH);
+                    assertThat(message).contains("is overdue");
+                });
+    }
+
+    private Task overdueTask(String title, User assignee, int daysLate) {
+        Task task = Fixtures.task(title, TaskStatus.PENDING);
+        task.setDueDate(LocalDate.now().minusDays(daysLate + 1L));
+        task.setAssignedUser(assignee);
+        return taskRepository.save(task);
+    }
+
+    private User user() {
+        return userRepository.save(Fixtures.user("due-sweep"));
+    }
+}
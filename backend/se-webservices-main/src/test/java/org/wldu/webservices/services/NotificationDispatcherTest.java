@@ -0,0 +1,113 @@
+package org.wldu.webservices.services;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.wldu.webservices.auths.User;
+import org.wldu.webservices.auths.UserRepository;
+import org.wldu.webservices.dtoFiles.NotificationDraft;
+import org.wldu.webservices.enities.Notification;
+import org.wldu.webservices.enities.OutboxEvent;
+import org.wldu.webservices.enities.OutboxEventType;
+import org.wldu.webservices.repositories.NotificationRepository;
+import org.wldu.webservices.repositories.OutboxEventRepository;
+import org.wldu.webservices.services.contracts.NotificationDispatcher;
+import org.wldu.webservices.services.contracts.NotificationService;
+import org.wldu.webservices.support.Fixtures;
+import org.wldu.webservices.support.ServiceSliceTest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+
+// the dispatcher runs its own transactions, so this test commits and uses a database of its own
+@ServiceSliceTest(properties = "spring.datasource.url=jdbc:h2:mem:dispatcher;MODE=PostgreSQL;DB_CLOSE_DELAY=-1")
+class NotificationDispatcherTest {
+
+    private static final String POISON = "poison";
+
+    @Autowired
+    private NotificationDispatcher dispatcher;
+
+    @MockitoSpyBean
+    private NotificationService notificationService;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User recipient;
+
+    @BeforeEach
+    void createRecipient() {
+        recipient = userRepository.save(Fixtures.user("dispatch-recipient"));
+
+        // stands in for any row the database rejects: fails whichever insert carries it
+        doAnswer(invocation -> {
+            List<NotificationDraft> drafts = invocation.getArgument(0);
+            if (drafts.stream().anyMatch(draft -> POISON.equals(draft.message()))) {
+                throw new IllegalStateException("insert rejected");
+            }
+            return invocation.callRealMethod();
+        }).when(notificationService).createAll(anyList());
+    }
+
+    @AfterEach
+    void cleanUp() {
+        notificationRepository.deleteAllInBatch();
+        outboxEventRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void oneFailingEventIsChargedAloneAndTheRestOfItsBatchIsDelivered() {
+        for (int i = 0; i < 5; i++) {
+            enqueue(i == 2 ? POISON : "message " + i);
+        }
+
+        dispatcher.drain();
+
+        assertThat(notificationRepository.findByUserIdOrderByCreatedAtDesc(recipient.getId()))
+                .extracting(Notification::getMessage)
+                .containsExactlyInAnyOrder("message 0", "message 1", "message 3", "message 4");
+        assertThat(outboxEventRepository.findAll())
+                .singleElement()
+                .satisfies(event -> {
+                    assertThat(event.getMessage()).isEqualTo(POISON);
+                    assertThat(event.getAttempts()).isEqualTo(1);
+                });
+    }
+
+    @Test
+    void messagesLongerThanTheNotificationColumnAreShortenedInsteadOfFailing() {
+        String title = "t".repeat(255);
+        enqueue("You have been assigned a new task: " + title);
+
+        dispatcher.drain();
+
+        assertThat(outboxEventRepository.count()).isZero();
+        assertThat(notificationRepository.findByUserIdOrderByCreatedAtDesc(recipient.getId()))
+                .singleElement()
+                .satisfies(notification -> {
+                    assertThat(notification.getMessage()).hasSize(Notification.MESSAGE_LENGTH);
+                    assertThat(notification.getMessage()).startsWith("You have been assigned").endsWith("…");
+                });
+    }
+
+    private void enqueue(String message) {
+        OutboxEvent event = new OutboxEvent();
+        event.setType(OutboxEventType.USER_NOTIFICATION);
+        event.setRecipientId(recipient.getId());
+        event.setMessage(message);
+        outboxEventRepository.save(event);
+    }
+}
@@ -0,0 +1,204 @@
+package org.wldu.webservices.services;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.mockito.stubbing.Answer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.wldu.webservices.dtoFiles.BulkItemResult;
+import org.wldu.webservices.dtoFiles.BulkResponse;
+import org.wldu.webservices.dtoFiles.TaskCreateRequest;
+import org.wldu.webservices.dtoFiles.TaskStatusChange;
+import org.wldu.webservices.enities.Category;
+import org.wldu.webservices.enities.Task;
+import org.wldu.webservices.enities.TaskStatus;
+import org.wldu.webservices.repositories.CategoryRepository;
+import org.wldu.webservices.repositories.OutboxEventRepository;
+import org.wldu.webservices.repositories.TaskRepository;
+import org.wldu.webservices.services.contracts.ListVersions;
+import org.wldu.webservices.services.contracts.TaskBulkService;
+import org.wldu.webservices.services.contracts.TaskSearchIndex;
+import org.wldu.webservices.services.contracts.TaskStats;
+import org.wldu.webservices.support.Fixtures;
+import org.wldu.webservices.support.ServiceSliceTest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doAnswer;
+
+// chunks of 3 so a handful of items crosses chunk boundaries; chunks commit, hence a database of its own
+@ServiceSliceTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:bulk;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+        "tasks.bulk.chunk-size=3"
+})
+class TaskBulkServiceTest {
+
+    @Autowired
+    private TaskBulkService taskBulkService;
+
+    @MockitoSpyBean
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private TaskSearchIndex taskSearchIndex;
+
+    @Autowired
+    private TaskStats taskStats;
+
+    @Autowired
+    private ListVersions listVersions;
+
+    @AfterEach
+    void cleanUp() {
+        outboxEventRepository.deleteAllInBatch();
+        taskRepository.deleteAllInBatch();
+        categoryRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void aDatabaseRejectedItemFailsAloneAndOnlyCommittedItemsReachStatsEtagsAndIndex() {
+        Category kept = category("bulk-kept");
+        Category poisoned = category("bulk-poisoned");
+        long before = taskStats.snapshot().total();
+        String keptTag = listVersions.etag(ListVersions.categoryTasks(kept.getId()));
+        String poisonedTag = listVersions.etag(ListVersions.categoryTasks(poisoned.getId()));
+
+        // chunk 1: items 0-2, chunk 2: items 3-5 (4 is too long for the title column), chunk 3: item 6
+        BulkResponse response = taskBulkService.createTasks(Arrays.asList(
+                create("zebra 0", kept.getId()),
+                create("zebra 1", kept.getId()),
+                create("zebra 2", kept.getId()),
+                create("zebra 3", kept.getId()),
+                create("zebra " + "x".repeat(300), poisoned.getId()),
+                create("zebra 5", kept.getId()),
+                create("zebra 6", kept.getId())));
+
+        assertThat(response.getSucceeded()).isEqualTo(6);
+        assertThat(response.getResults()).extracting(BulkItemResult::getIndex).containsExactly(0, 1, 2, 3, 4, 5, 6);
+        BulkItemResult rejected = response.getResults().get(4);
+        assertThat(rejected.isSuccess()).isFalse();
+        assertThat(rejected.getError()).isEqualTo("Constraint violation");
+
+        List<Long> createdIds = response.getResults().stream()
+                .filter(BulkItemResult::isSuccess).map(BulkItemResult::getTaskId).toList();
+        assertThat(taskRepository.findAllById(createdIds)).hasSize(6);
+        assertThat(taskRepository.findByCategoryId(poisoned.getId())).isEmpty();
+
+        assertThat(taskStats.snapshot().total()).isEqualTo(before + 6);
+        assertThat(listVersions.etag(ListVersions.categoryTasks(kept.getId()))).isNotEqualTo(keptTag);
+        assertThat(listVersions.etag(ListVersions.categoryTasks(poisoned.getId()))).isEqualTo(poisonedTag);
+        assertThat(taskSearchIndex.search("zebra", 20)).containsExactlyInAnyOrderElementsOf(createdIds);
+    }
+
+    @Test
+    void validationFailuresAreReportedAtTheirOwnIndexAcrossChunks() {
+        Category category = category("bulk-validation");
+        List<TaskCreateRequest> requests = new ArrayList<>();
+        requests.add(create("valid 0", category.getId()));
+        requests.add(create("unknown category", -1L));
+        requests.add(create("valid 2", null));
+        requests.add(null);
+        requests.add(create("valid 4", category.getId()));
+
+        BulkResponse response = taskBulkService.createTasks(requests);
+
+        assertThat(response.getResults()).extracting(BulkItemResult::getIndex).containsExactly(0, 1, 2, 3, 4);
+        assertThat(response.getResults()).extracting(BulkItemResult::isSuccess)
+                .containsExactly(true, false, true, false, true);
+        assertThat(response.getResults().get(1).getError()).isEqualTo("Category not found");
+        assertThat(response.getResults().get(3).getError()).isEqualTo("Missing item");
+        assertThat(taskRepository.count()).isEqualTo(3);
+    }
+
+    @Test
+    void statusChangesMixValidAndInvalidItemsWithoutLosingPositions() {
+        Task pending = task(TaskStatus.PENDING);
+        Task completed = task(TaskStatus.COMPLETED);
+        Task inProgress = task(TaskStatus.IN_PROGRESS);
+
+        // chunk 1: 0-2, chunk 2: 3-4
+        BulkResponse response = taskBulkService.updateStatuses(List.of(
+                change(pending.getId(), "IN_PROGRESS"),
+                change(-1L, "COMPLETED"),
+                change(completed.getId(), "PENDING"),
+                change(inProgress.getId(), "DONE"),
+                change(inProgress.getId(), "COMPLETED")));
+
+        assertThat(response.getResults()).extracting(BulkItemResult::getIndex).containsExactly(0, 1, 2, 3, 4);
+        assertThat(response.getResults()).extracting(BulkItemResult::getTaskId)
+                .containsExactly(pending.getId(), -1L, completed.getId(), inProgress.getId(), inProgress.getId());
+        assertThat(response.getResults()).extracting(BulkItemResult::getError).containsExactly(
+                null,
+                "Task not found",
+                "Cannot change status from COMPLETED to PENDING",
+                "Invalid status: DONE",
+                null);
+
+        assertThat(statusOf(pending)).isEqualTo(TaskStatus.IN_PROGRESS);
+        assertThat(statusOf(completed)).isEqualTo(TaskStatus.COMPLETED);
+        assertThat(statusOf(inProgress)).isEqualTo(TaskStatus.COMPLETED);
+    }
+
+    @Test
+    void aTaskUpdatedAfterItWasLoadedIsNotDeleted() {
+        Task untouched = task(TaskStatus.PENDING);
+        Task contested = task(TaskStatus.PENDING);
+
+        // every load of the chunk is followed by another writer committing a change to one task
+        Answer<?> repository = Mockito.mockingDetails(taskRepository).getMockCreationSettings().getDefaultAnswer();
+        doAnswer(invocation -> {
+            Object rows = repository.answer(invocation);
+            CompletableFuture.runAsync(() -> {
+                Task other = taskRepository.findById(contested.getId()).orElseThrow();
+                other.setTitle(other.getTitle() + "!");
+                taskRepository.save(other);
+            }).join();
+            return rows;
+        }).when(taskRepository).findWithReferencesByIdIn(anyCollection());
+
+        BulkResponse response = taskBulkService.deleteTasks(List.of(untouched.getId(), contested.getId()));
+
+        assertThat(response.getResults()).extracting(BulkItemResult::isSuccess).containsExactly(true, false);
+        assertThat(response.getResults().get(1).getError()).isEqualTo("Conflict");
+        assertThat(taskRepository.existsById(untouched.getId())).isFalse();
+        assertThat(taskRepository.existsById(contested.getId())).isTrue();
+    }
+
+    private TaskStatus statusOf(Task task) {
+        return taskRepository.findById(task.getId()).orElseThrow().getStatus();
+    }
+
+    private Category category(String name) {
+        return categoryRepository.save(Fixtures.category(name));
+    }
+
+    private Task task(TaskStatus status) {
+        return taskRepository.save(Fixtures.task("bulk status", status));
+    }
+
+    private static TaskCreateRequest create(String title, Long categoryId) {
+        TaskCreateRequest request = new TaskCreateRequest();
+        request.setTitle(title);
+        request.setCategoryId(categoryId);
+        return request;
+    }
+
+    private static TaskStatusChange change(Long taskId, String status) {
+        TaskStatusChange change = new TaskStatusChange();
+        change.setTaskId(taskId);
+        change.setStatus(status);
+        return change;
+    }
+}
@@ -0,0 +1,86 @@
+package org.wldu.webservices.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.wldu.webservices.dtoFiles.TaskText;
+import org.wldu.webservices.repositories.TaskRepository;
+import org.wldu.webservices.services.contracts.TaskSearchIndex;
+
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// the index on its own: rows come from a stubbed repository, transactions are no-ops
+class TaskSearchIndexTest {
+
+    private TaskRepository taskRepository;
+    private TaskSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository = mock(TaskRepository.class);
+        index = new TaskSearchIndex(taskRepository, mock(PlatformTransactionManager.class));
+    }
+
+    @Test
+    void aTaskDeletedWhileTheRebuildRunsStaysOut() {
+        // the delete commits after the rebuild's read saw the row, before the row is indexed
+        when(taskRepository.streamTaskText()).thenReturn(rows(
+                new TaskText(1L, "quarterly report", null),
+                new TaskText(2L, "quarterly budget", null))
+                .peek(row -> {
+                    if (row.id() == 1L) {
+                        index.remove(1L);
+                    }
+                }));
+
+        index.rebuild();
+
+        assertThat(index.search("quarterly", 10)).containsExactly(2L);
+    }
+
+    @Test
+    void concurrentUpdatesOfOneTaskLeavePostingsForItsStoredTextOnly() throws Exception {
+        when(taskRepository.streamTaskText()).thenReturn(rows());
+        index.rebuild();
+
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            for (int round = 0; round < 2_000; round++) {
+                CyclicBarrier start = new CyclicBarrier(2);
+                Future<?> alpha = pool.submit(() -> index(start, "alpha"));
+                Future<?> omega = pool.submit(() -> index(start, "omega"));
+                alpha.get();
+                omega.get();
+
+                boolean postedAlpha = index.search("alpha", 10).contains(7L);
+                boolean postedOmega = index.search("omega", 10).contains(7L);
+                // verify() against an "alpha" row tells which text the index stored for the task
+                when(taskRepository.streamTaskText()).thenReturn(rows(new TaskText(7L, "alpha", null)));
+                boolean storedAlpha = index.verify().getStale() == 0;
+
+                assertThat(postedAlpha).as("round %d: alpha posted", round).isEqualTo(storedAlpha);
+                assertThat(postedOmega).as("round %d: omega posted", round).isEqualTo(!storedAlpha);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private Void index(CyclicBarrier start, String title) throws Exception {
+        start.await();
+        index.index(7L, title, null);
+        return null;
+    }
+
+    private static Stream<TaskText> rows(TaskText... rows) {
+        return Stream.of(rows);
+    }
+}
@@ -0,0 +1,231 @@
+package org.wldu.webservices.services;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.mockito.stubbing.Answer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.wldu.webservices.auths.User;
+import org.wldu.webservices.auths.UserRepository;
+import org.wldu.webservices.dtoFiles.TaskAssignRequest;
+import org.wldu.webservices.dtoFiles.TaskCreateRequest;
+import org.wldu.webservices.dtoFiles.TaskResponse;
+import org.wldu.webservices.dtoFiles.TaskStatsResponse;
+import org.wldu.webservices.dtoFiles.TaskStatsRow;
+import org.wldu.webservices.dtoFiles.TaskStatusChange;
+import org.wldu.webservices.dtoFiles.TaskUpdateRequest;
+import org.wldu.webservices.enities.Category;
+import org.wldu.webservices.enities.TaskStatus;
+import org.wldu.webservices.repositories.CategoryRepository;
+import org.wldu.webservices.repositories.OutboxEventRepository;
+import org.wldu.webservices.repositories.TaskRepository;
+import org.wldu.webservices.services.contracts.TaskBulkService;
+import org.wldu.webservices.services.contracts.TaskService;
+import org.wldu.webservices.services.contracts.TaskStats;
+import org.wldu.webservices.support.Fixtures;
+import org.wldu.webservices.support.ServiceSliceTest;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doAnswer;
+
+// every service call commits on its own, like separate requests
+@ServiceSliceTest(properties = "spring.datasource.url=jdbc:h2:mem:stats;MODE=PostgreSQL;DB_CLOSE_DELAY=-1")
+class TaskStatsTest {
+
+    // counts by (kind, bucket id, status); kind is "category" or "assignee", a null id is the "none" bucket
+    private record Cell(String kind, Long id, String status) {
+    }
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskBulkService taskBulkService;
+
+    @Autowired
+    private TaskStats taskStats;
+
+    @MockitoSpyBean
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // runs once right after the next stats GROUP BY returns
+    private final AtomicReference<Runnable> afterNextGroupBy = new AtomicReference<>();
+
+    @BeforeEach
+    void startCounting() {
+        // a spied repository proxy has no real method to call; its default answer delegates to the repository
+        Answer<?> repository = Mockito.mockingDetails(taskRepository).getMockCreationSettings().getDefaultAnswer();
+        doAnswer(invocation -> {
+            Object rows = repository.answer(invocation);
+            Runnable hook = afterNextGroupBy.getAndSet(null);
+            if (hook != null) {
+                hook.run();
+            }
+            return rows;
+        }).when(taskRepository).countByStatusCategoryAndAssignee();
+        taskStats.reseed();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        outboxEventRepository.deleteAllInBatch();
+        taskRepository.deleteAllInBatch();
+        categoryRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void singleAndBulkMutationsKeepTheCountersEqualToTheGroupBy() {
+        Category home = categoryRepository.save(Fixtures.category("stats-home"));
+        Category work = categoryRepository.save(Fixtures.category("stats-work"));
+        User ann = userRepository.save(Fixtures.user("stats-ann"));
+        User bob = userRepository.save(Fixtures.user("stats-bob"));
+
+        TaskResponse first = taskService.createTask(create("first", home.getId()));
+        TaskResponse second = taskService.createTask(create("second", null));
+        TaskResponse third = taskService.createTask(create("third", work.getId()));
+        assertCountersMatchDatabase();
+
+        taskService.assignTask(assign(first.getId(), ann.getId()));
+        taskService.assignTask(assign(first.getId(), bob.getId()));
+        assertCountersMatchDatabase();
+
+        taskService.updateTaskStatus(first.getId(), "IN_PROGRESS");
+        taskService.updateTaskStatus(second.getId(), "COMPLETED");
+        assertCountersMatchDatabase();
+
+        TaskUpdateRequest update = new TaskUpdateRequest();
+        update.setTitle("second, moved");
+        update.setCategoryId(work.getId());
+        taskService.updateTask(second.getId(), update);
+        taskService.deleteTask(third.getId());
+        assertCountersMatchDatabase();
+
+        List<Long> bulk = taskBulkService.createTasks(List.of(
+                        create("bulk 0", home.getId()), create("bulk 1", work.getId()),
+                        create("bulk 2", null), create("bulk 3", home.getId())))
+                .getResults().stream().map(result -> result.getTaskId()).toList();
+        assertCountersMatchDatabase();
+
+        taskBulkService.assignTasks(List.of(assign(bulk.get(0), ann.getId()), assign(bulk.get(1), bob.getId())));
+        taskBulkService.updateStatuses(List.of(change(bulk.get(0), "COMPLETED"), change(bulk.get(2), "IN_PROGRESS")));
+        taskBulkService.deleteTasks(List.of(bulk.get(1), bulk.get(3), first.getId()));
+        assertCountersMatchDatabase();
+        assertThat(taskStats.snapshot().total()).isEqualTo(3);
+    }
+
+    @Test
+    void aRolledBackTransactionLeavesTheCountersUnchanged() {
+        TaskResponse kept = taskService.createTask(create("kept", null));
+        TaskStatsResponse before = taskStats.snapshot();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(tx -> {
+            taskService.createTask(create("rolled back", null));
+            taskService.updateTaskStatus(kept.getId(), "COMPLETED");
+            tx.setRollbackOnly();
+        });
+
+        assertThat(taskStats.snapshot()).isEqualTo(before);
+        assertCountersMatchDatabase();
+    }
+
+    @Test
+    void aCommitLandingWhileTheCheckRunsIsKept() {
+        taskService.createTask(create("before the check", null));
+        // commits after the check's GROUP BY read the table, before the check compares
+        afterNextGroupBy.set(() -> inAnotherThread(() -> taskService.createTask(create("during the check", null))));
+
+        taskStats.verify();
+
+        assertThat(taskStats.snapshot().total()).isEqualTo(2);
+        assertCountersMatchDatabase();
+    }
+
+    @Test
+    void driftIsRepairedWhenTwoChecksInARowSeeIt() {
+        taskService.createTask(create("counted", null));
+        // bypasses the service, so the counters never hear of it
+        taskRepository.save(Fixtures.task("missed", TaskStatus.PENDING));
+
+        taskStats.verify();
+        assertThat(taskStats.snapshot().total()).isEqualTo(1);
+
+        taskStats.verify();
+        assertThat(taskStats.snapshot().total()).isEqualTo(2);
+        assertCountersMatchDatabase();
+    }
+
+    private void assertCountersMatchDatabase() {
+        assertThat(cells(taskStats.snapshot())).isEqualTo(cells(taskRepository.countByStatusCategoryAndAssignee()));
+    }
+
+    private static Map<Cell, Long> cells(TaskStatsResponse stats) {
+        Map<Cell, Long> cells = new HashMap<>();
+        stats.byCategory().forEach(bucket -> bucket.byStatus().forEach((status, count) ->
+                cells.put(new Cell("category", bucket.id(), status), count)));
+        stats.byAssignee().forEach(bucket -> bucket.byStatus().forEach((status, count) ->
+                cells.put(new Cell("assignee", bucket.id(), status), count)));
+        return cells;
+    }
+
+    private static Map<Cell, Long> cells(List<TaskStatsRow> rows) {
+        Map<Cell, Long> cells = new HashMap<>();
+        for (TaskStatsRow row : rows) {
+            cells.merge(new Cell("category", row.categoryId(), row.status().name()), row.count(), Long::sum);
+            cells.merge(new Cell("assignee", row.assigneeId(), row.status().name()), row.count(), Long::sum);
+        }
+        return cells;
+    }
+
+    private static void inAnotherThread(Runnable work) {
+        Thread thread = Thread.ofPlatform().start(work);
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static TaskCreateRequest create(String title, Long categoryId) {
+        TaskCreateRequest request = new TaskCreateRequest();
+        request.setTitle(title);
+        request.setCategoryId(categoryId);
+        return request;
+    }
+
+    private static TaskAssignRequest assign(Long taskId, Long userId) {
+        TaskAssignRequest request = new TaskAssignRequest();
+        request.setTaskId(taskId);
+        request.setUserId(userId);
+        return request;
+    }
+
+    private static TaskStatusChange change(Long taskId, String status) {
+        TaskStatusChange change = new TaskStatusChange();
+        change.setTaskId(taskId);
+        change.setStatus(status);
+        return change;
+    }
+}
@@ -0,0 +1,87 @@
+package org.wldu.webservices.services;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.wldu.webservices.auths.User;
+import org.wldu.webservices.auths.UserRepository;
+import org.wldu.webservices.dtoFiles.TaskAssignRequest;
+import org.wldu.webservices.dtoFiles.TaskCreateRequest;
+import org.wldu.webservices.dtoFiles.TaskResponse;
+import org.wldu.webservices.dtoFiles.TaskUpdateRequest;
+import org.wldu.webservices.enities.TaskStatus;
+import org.wldu.webservices.repositories.OutboxEventRepository;
+import org.wldu.webservices.repositories.TaskRepository;
+import org.wldu.webservices.services.contracts.TaskService;
+import org.wldu.webservices.support.Fixtures;
+import org.wldu.webservices.support.ServiceSliceTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// every call commits on its own, like separate requests; the version a response carries must be
+// the one a follow-up PUT /status/{id}?version= is checked against
+@ServiceSliceTest(properties = "spring.datasource.url=jdbc:h2:mem:version-echo;MODE=PostgreSQL;DB_CLOSE_DELAY=-1")
+class TaskVersionEchoTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @AfterEach
+    void cleanUp() {
+        outboxEventRepository.deleteAllInBatch();
+        taskRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void versionReturnedByAssignIsAcceptedByTheStatusUpdate() {
+        TaskResponse created = createTask();
+
+        TaskAssignRequest assign = new TaskAssignRequest();
+        assign.setTaskId(created.getId());
+        assign.setUserId(user().getId());
+        TaskResponse assigned = taskService.assignTask(assign);
+
+        assertThat(assigned.getVersion()).isEqualTo(storedVersion(created.getId()));
+        taskService.updateTaskStatus(created.getId(), "IN_PROGRESS", assigned.getVersion());
+        assertThat(taskRepository.findById(created.getId()).orElseThrow().getStatus())
+                .isEqualTo(TaskStatus.IN_PROGRESS);
+    }
+
+    @Test
+    void versionReturnedByUpdateIsAcceptedByTheStatusUpdate() {
+        TaskResponse created = createTask();
+
+        TaskUpdateRequest update = new TaskUpdateRequest();
+        update.setTitle("renamed");
+        TaskResponse updated = taskService.updateTask(created.getId(), update);
+
+        assertThat(updated.getVersion()).isEqualTo(storedVersion(created.getId()));
+        taskService.updateTaskStatus(created.getId(), "COMPLETED", updated.getVersion());
+        assertThat(taskRepository.findById(created.getId()).orElseThrow().getStatus())
+                .isEqualTo(TaskStatus.COMPLETED);
+    }
+
+    private TaskResponse createTask() {
+        TaskCreateRequest request = new TaskCreateRequest();
+        request.setTitle("versioned");
+        return taskService.createTask(request);
+    }
+
+    private long storedVersion(Long taskId) {
+        return taskRepository.findStatusView(taskId).orElseThrow().version();
+    }
+
+    private User user() {
+        return userRepository.save(Fixtures.user("version-echo"));
+    }
+}
@@ -0,0 +1,37 @@
+package org.wldu.webservices.support;
+
+import org.wldu.webservices.auths.User;
+import org.wldu.webservices.enities.Category;
+import org.wldu.webservices.enities.Task;
+import org.wldu.webservices.enities.TaskStatus;
+
+/**
+ * Unsaved entities with the fields the schema requires filled in. Callers
+ * persist them however the test does (TestEntityManager, a repository).
+ */
+public final class Fixtures {
+
+    private Fixtures() {
+    }
+
+    public static User user(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setPassword("secret-password");
+        user.setRole("ROLE_USER");
+        return user;
+    }
+
+    public static Category category(String name) {
+        Category category = new Category();
+        category.setName(name);
+        return category;
+    }
+
+    public static Task task(String title, TaskStatus status) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setStatus(status);
+        return task;
+    }
+}
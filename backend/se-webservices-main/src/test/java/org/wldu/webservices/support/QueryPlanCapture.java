@@ -0,0 +1,128 @@
+package org.wldu.webservices.support;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Wraps the test DataSource so every executed statement is recorded with its
+ * bind values, then replays selected statements through H2's EXPLAIN.
+ * Import it into a JPA slice test with {@code @Import(QueryPlanCapture.class)}.
+ */
+@TestConfiguration
+public class QueryPlanCapture implements QueryExecutionListener {
+
+    public record Captured(String sql, List<Object> parameters) {
+    }
+
+    private final List<Captured> statements = new CopyOnWriteArrayList<>();
+    private volatile DataSource target;
+
+    @Bean
+    public static BeanPostProcessor queryPlanDataSourceProxy(QueryPlanCapture capture) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && capture.target == null) {
+                    capture.target = dataSource;
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name("query-plan-capture")
+                            .listener(capture)
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+
+    public void reset() {
+        statements.clear();
+    }
+
+    public List<Captured> selects() {
+        return statements.stream()
+                .filter(c -> c.sql().trim().toLowerCase(Locale.ROOT).startsWith("select"))
+                .toList();
+    }
+
+    public Captured lastSelect() {
+        List<Captured> selects = selects();
+        if (selects.isEmpty()) {
+            throw new IllegalStateException("No SELECT statement was captured");
+        }
+        return selects.getLast();
+    }
+
+    // H2 renders each table access as a comment: "/* PUBLIC.IDX_NAME: ... */" or "/* PUBLIC.TASKS.tableScan */"
+    public String explain(Captured statement) {
+        try (Connection connection = target.getConnection();
+             PreparedStatement explain = connection.prepareStatement("EXPLAIN " + statement.sql())) {
+            List<Object> parameters = statement.parameters();
+            for (int i = 0; i < parameters.size(); i++) {
+                explain.setObject(i + 1, parameters.get(i));
+            }
+            try (ResultSet rs = explain.executeQuery()) {
+                StringBuilder plan = new StringBuilder();
+                while (rs.next()) {
+                    plan.append(rs.getString(1)).append('\n');
+                }
+                return plan.toString();
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("EXPLAIN failed for: " + statement.sql(), e);
+        }
+    }
+
+    public static boolean scansTable(String plan, String table) {
+        return plan.toUpperCase(Locale.ROOT).contains("PUBLIC." + table.toUpperCase(Locale.ROOT) + ".TABLESCAN");
+    }
+
+    public static boolean scansAnyTable(String plan) {
+        return plan.toUpperCase(Locale.ROOT).contains(".TABLESCAN");
+    }
+
+    public static void analyze(DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.createStatement().execute("ANALYZE");
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        for (QueryInfo query : queryInfoList) {
+            List<List<ParameterSetOperation>> batches = query.getParametersList();
+            List<ParameterSetOperation> first = batches.isEmpty() ? List.of() : batches.getFirst();
+
+            List<ParameterSetOperation> ordered = new ArrayList<>(first);
+            ordered.sort(Comparator.comparingInt(op -> (Integer) op.getArgs()[0]));
+
+            List<Object> values = new ArrayList<>(ordered.size());
+            for (ParameterSetOperation op : ordered) {
+                values.add("setNull".equals(op.getMethod().getName()) ? null : op.getArgs()[1]);
+            }
+            statements.add(new Captured(query.getQuery(), values));
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package org.wldu.webservices.support;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.wldu.webservices.auths.AdminDirectory;
+import org.wldu.webservices.services.contracts.CommentService;
+import org.wldu.webservices.services.contracts.DueDateSweeper;
+import org.wldu.webservices.services.contracts.ListVersions;
+import org.wldu.webservices.services.contracts.NotificationDispatcher;
+import org.wldu.webservices.services.contracts.NotificationService;
+import org.wldu.webservices.services.contracts.NotificationStreams;
+import org.wldu.webservices.services.contracts.TaskActivityReconciler;
+import org.wldu.webservices.services.contracts.TaskBulkService;
+import org.wldu.webservices.services.contracts.TaskSearchIndex;
+import org.wldu.webservices.services.contracts.TaskService;
+import org.wldu.webservices.services.contracts.TaskStats;
+import org.wldu.webservices.services.contracts.UnreadCounters;
+
+/**
+ * The task and notification services on top of a JPA slice, with a plain
+ * meter registry instead of actuator's. Nothing is scheduled and no
+ * ApplicationReadyEvent fires, so the search index and the stats counters
+ * start empty. Used through {@link ServiceSliceTest}.
+ */
+@TestConfiguration
+@Import({TaskService.class, TaskBulkService.class, CommentService.class, NotificationService.class,
+        NotificationDispatcher.class, DueDateSweeper.class, TaskActivityReconciler.class,
+        TaskSearchIndex.class, TaskStats.class, ListVersions.class, NotificationStreams.class,
+        UnreadCounters.class, AdminDirectory.class})
+public class ServiceSlice {
+
+    @Bean
+    MeterRegistry meterRegistry() {
+        return new SimpleMeterRegistry();
+    }
+}